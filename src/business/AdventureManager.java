@@ -1,26 +1,66 @@
 package business;
 
 import business.entities.Adventure;
+import business.entities.AdventureHeader;
 import business.entities.Character;
+import business.entities.Dice;
 import business.entities.Encounter;
 import business.entities.Monster;
+import business.entities.MonsterTemplate;
 import persistence.exceptions.PersistenceException;
 import persistence.json.adventure.AdventureDAO;
 import persistence.json.adventure.AdventureJsonDAO;
+import persistence.json.adventure.CachedAdventureDAO;
+import persistence.json.monster.CachedMonsterDAO;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 public class AdventureManager {
+    // Path to the file where the adventures are persisted
+    private static final String ADVENTURES_PATH = "data/adventures.json";
+    // Dice rolled for the initiative of every combatant
+    private static final Dice INITIATIVE_DICE = Dice.parse("d12");
+    // Dice rolled to know whether an attack misses (1), hits or is critical (10)
+    static final Dice HIT_DICE = Dice.parse("d10");
+    // Dice rolled for the damage of an adventurer's attack
+    static final Dice ADVENTURER_DAMAGE_DICE = Dice.parse("d6");
+
     private final AdventureDAO daoAdventure;
+    // Generator of the dice rolled by the methods that aren't given one, only to be used from a single thread
+    private final RandomGenerator random;
 
     /**
-     * Default constructor, which uses the JSON Data Access Object for characters with a fixed file.
+     * Parametrized constructor, which uses the JSON Data Access Object for adventures with a fixed file, kept in
+     * memory until the file changes if its directory can be watched, and whose encounters reference the shared
+     * monster catalog.
      *
+     * @param monsters the cached Data Access Object for monsters, shared with the other managers
      * @throws PersistenceException if the manager can't be instantiated because of errors in the persistence layer
      */
-    public AdventureManager() throws PersistenceException {
-        daoAdventure = new AdventureJsonDAO("data/adventures.json");
+    public AdventureManager(CachedMonsterDAO monsters) throws PersistenceException {
+        this(monsters, RandomSource.newGenerator());
+    }
+
+    /**
+     * Parametrized constructor, which uses the same Data Access Objects as the one above and rolls the dice with the
+     * given generator when it isn't given another one.
+     *
+     * @param monsters the cached Data Access Object for monsters, shared with the other managers
+     * @param random the generator of the dice rolled, only to be used from a single thread
+     * @throws PersistenceException if the manager can't be instantiated because of errors in the persistence layer
+     */
+    public AdventureManager(CachedMonsterDAO monsters, RandomGenerator random) throws PersistenceException {
+        AdventureDAO json = new AdventureJsonDAO(ADVENTURES_PATH, monsters);
+        AdventureDAO cached;
+        try {
+            cached = new CachedAdventureDAO(json, ADVENTURES_PATH, monsters);
+        } catch (IOException e) {
+            cached = json;
+        }
+        daoAdventure = cached;
+        this.random = random;
     }
 
     /**
@@ -31,7 +71,7 @@ public class AdventureManager {
      */
     public boolean checkUniqueName (String name) throws IOException {
         boolean unique = true;
-        ArrayList<Adventure> adventures = daoAdventure.getAll();
+        ArrayList<AdventureHeader> adventures = daoAdventure.getHeaders();
         if (!adventures.isEmpty()) {
             for (int i = 0; i < adventures.size(); i++) {
                 if (Objects.equals(name, adventures.get(i).getName())) {
@@ -67,7 +107,7 @@ public class AdventureManager {
      * @param quantity
      * @return whether the encounter passes the requirement or not
      */
-    public boolean bossMonsterCheck(Encounter encounter, Monster monster, int quantity){
+    public boolean bossMonsterCheck(Encounter encounter, MonsterTemplate monster, int quantity){
         boolean hasBoss = false;
         boolean correct = true;
         for (Monster m : encounter.getMonsters()) {
@@ -85,16 +125,17 @@ public class AdventureManager {
     }
 
     /**
-     * Method that adds a monster to the encounter.
+     * Method that adds a monster to the encounter, creating a new instance of it for each one added so that they don't
+     * share their combat state.
      *
      * @param encounter the encounter where the monster should be added
-     * @param monster   the monster to add
+     * @param monster   the template of the monster to add
      * @param quantity the quantity of the monster to add
      * @return NONE
      */
-    public void addMonsterToEncounter(Encounter encounter, Monster monster, int quantity) {
+    public void addMonsterToEncounter(Encounter encounter, MonsterTemplate monster, int quantity) {
         for (int i = 0; i < quantity; i++) {
-            encounter.getMonsters().add(monster);
+            encounter.getMonsters().add(new Monster(monster));
         }
         encounter.getMonsters().sort(Comparator.comparing(Monster::getName));
     }
@@ -134,18 +175,7 @@ public class AdventureManager {
      * @return the total amount of that monster in the encounter
      */
     public int getQuantityOfMonster(Encounter encounter, int i){
-        ArrayList<Monster> monstersSummarized = new ArrayList<>();
-        int quantity = 0;
-        for (Monster m : encounter.getMonsters()) {
-            if (!monstersSummarized.contains(m)) {
-                monstersSummarized.add(m);
-            }
-        }
-        for (int j = 0; j < encounter.getMonsters().size(); j++) {
-            if(Objects.equals(encounter.getMonsters().get(j).getName(), monstersSummarized.get(i).getName()))
-                quantity++;
-        }
-        return quantity;
+        return encounter.getNumberOfMonster(getNameOfMonster(encounter, i));
     }
 
     /**
@@ -156,13 +186,13 @@ public class AdventureManager {
      * @return the name of the requested monster
      */
     public String getNameOfMonster(Encounter encounter, int i){
-        ArrayList<Monster> monstersSummarized = new ArrayList<>();
+        ArrayList<String> monstersSummarized = new ArrayList<>();
         for (Monster m : encounter.getMonsters()) {
-            if (!monstersSummarized.contains(m)) {
-                monstersSummarized.add(m);
+            if (!monstersSummarized.contains(m.getName())) {
+                monstersSummarized.add(m.getName());
             }
         }
-        return monstersSummarized.get(i).getName();
+        return monstersSummarized.get(i);
     }
 
     /**
@@ -182,6 +212,33 @@ public class AdventureManager {
         }
     }
 
+    /**
+     * Method that searches for the headers of the existing adventures, without reading their encounters.
+     *
+     * @return an array list containing the name, number of encounters and total experience of all adventures
+     */
+    public ArrayList<AdventureHeader> findAdventureHeaders() {
+        try {
+            return daoAdventure.getHeaders();
+        } catch (IOException ignored) {
+            return new ArrayList<AdventureHeader>();
+        }
+    }
+
+    /**
+     * Method that searches for an existing adventure by its name, reading its encounters.
+     *
+     * @param name a string representation of the adventure's name
+     * @return an object representation of the adventure, or null if it doesn't exist or can't be read
+     */
+    public Adventure findAdventureByName(String name) {
+        try {
+            return daoAdventure.getByName(name);
+        } catch (IOException ignored) {
+            return null;
+        }
+    }
+
     /**
      * Method that checks whether the name that was input by the user already exists in the party.
      *
@@ -199,16 +256,15 @@ public class AdventureManager {
     }
 
     /**
-     * Method that sets the current HP of the monsters in the whole adventure.
+     * Method that sets the current HP of the monsters in the whole adventure, starting every monster with a fresh
+     * combat state created from its template.
      *
      * @param adventureToPlay the adventure to be played
      * @return NONE
      */
     public void initializeCurrentHPMonsters(Adventure adventureToPlay){
         for (Encounter encounter : adventureToPlay.getEncounters()) {
-            for (Monster monster : encounter.getMonsters()) {
-                monster.setCurrentHp(monster.getHitPoints());
-            }
+            encounter.getMonsters().replaceAll(monster -> new Monster(monster.getTemplate()));
         }
     }
 
@@ -234,20 +290,32 @@ public class AdventureManager {
      * @return NONE
      */
     public void setInitiativeValues(ArrayList<Character> adventureParty, Encounter encounter){
+        setInitiativeValues(adventureParty, encounter, random);
+    }
+
+    /**
+     * Method that modifies the initiative values of the characters in the party and the monsters in the encounter,
+     * rolling the dice with a specific generator.
+     *
+     * @param adventureParty an ArrayList representation of the party's characters
+     * @param encounter an Encounter representation of the encounter
+     * @param dice the generator of the dice rolled
+     * @return NONE
+     */
+    public void setInitiativeValues(ArrayList<Character> adventureParty, Encounter encounter, RandomGenerator dice){
         String class_;
-        Random dice = new Random();
         int initiative;
         for (Character character : adventureParty) {
             class_ = character.getClass_();
             switch(class_){
                 case "Adventurer":
-                    initiative = dice.nextInt(12) + 1 + character.getSpirit();
+                    initiative = INITIATIVE_DICE.roll(dice) + character.getSpirit();
                     character.setInitiative(initiative);
                     break;
             }
         }
         for (Monster monster : encounter.getMonsters()) {
-            initiative = dice.nextInt(12) + 1 + monster.getInitiative();
+            initiative = INITIATIVE_DICE.roll(dice) + monster.getTemplate().getInitiative();
             monster.setInitiative(initiative);
         }
     }
@@ -264,9 +332,9 @@ public class AdventureManager {
         int characterCounter = 0;
         int i = 0;
         int totalCombatants = adventureParty.size() + encounter.getMonsters().size();
-        encounter.getMonsters().sort(Comparator.comparing(Monster::getInitiative));
+        encounter.getMonsters().sort(Comparator.comparingInt(Monster::getInitiative));
         Collections.reverse(encounter.getMonsters());
-        adventureParty.sort(Comparator.comparing(Character::getInitiative));
+        adventureParty.sort(Comparator.comparingInt(Character::getInitiative));
         Collections.reverse(adventureParty);
         while (i < totalCombatants) {
             if (monsterCounter < encounter.getMonsters().size() && characterCounter < adventureParty.size()) {
@@ -336,11 +404,23 @@ public class AdventureManager {
      * @return the diceRoll and the damage
      */
     public int[] combatStageActions(ArrayList<Character> adventureParty, Encounter encounter, int i){
+        return combatStageActions(adventureParty, encounter, i, random);
+    }
+
+    /**
+     * Method that generates the combat stage actions of the round, rolling the dice with a specific generator.
+     *
+     * @param adventureParty the characters involved in combat
+     * @param encounter the encounter involved
+     * @param i the combatant that should take their action
+     * @param dice the generator of the dice rolled
+     * @return the diceRoll and the damage
+     */
+    public int[] combatStageActions(ArrayList<Character> adventureParty, Encounter encounter, int i, RandomGenerator dice){
         int[] combatOutputs = new int[2];
         int targetHP = Integer.MAX_VALUE;
         int index_monster = 0;
-        Random dice = new Random();
-        int hit = dice.nextInt(10) + 1;
+        int hit = HIT_DICE.roll(dice);
         int damage = 0;
         boolean correctTarget = false;
             //search if the next action should be taken by a character
@@ -350,7 +430,7 @@ public class AdventureManager {
                     switch (character.getClass_()) {
                         //if the character is an adventurer, they will attack a monster
                         case "Adventurer":
-                            damage = dice.nextInt(6) + 1 + character.getBody();
+                            damage = ADVENTURER_DAMAGE_DICE.roll(dice) + character.getBody();
                             if (hit == 10) {
                                 damage = damage * 2;
                             }
@@ -380,8 +460,7 @@ public class AdventureManager {
             for (int j = 0; j < encounter.getMonsters().size(); j++) {
                 if (encounter.getMonsters().get(j).getCombatOrder() == i && encounter.getMonsters().get(j).getCurrentHp() > 0) {
                     //get its dice roll and damage
-                    int maxDice = encounter.getMonsters().get(j).getDamageDice();
-                    damage = dice.nextInt(maxDice) + 1;
+                    damage = encounter.getMonsters().get(j).getDamage().roll(dice);
                     if (hit == 10) {
                         damage = damage * 2;
                     }
@@ -389,32 +468,20 @@ public class AdventureManager {
                         damage = 0;
                     }
 
-                    //if the monster is not a boss, it will attack a random character
-                    if(encounter.getMonsters().get(j).getChallenge() != "Boss") {
-                        //randomly target a character
-                        while (!correctTarget) {
-                            int index_character = dice.nextInt(adventureParty.size());
-                            //only target a character if they are conscious
-                            if (adventureParty.get(index_character).getCurrentHp() > 0) {
-                                adventureParty.get(index_character).setCurrentHP
-                                        (adventureParty.get(index_character).getCurrentHp() - damage);
-                                //if their HP is less than 0, set it to 0
-                                if (adventureParty.get(index_character).getCurrentHp() < 0) {
-                                    adventureParty.get(index_character).setCurrentHP(0);
-                                }
-                                //mark the character as targeted for future showing of the action
-                                correctTarget = true;
-                                adventureParty.get(index_character).setTargeted(true);
-                            }
-                        }
-                    }
-                    //if the monster is a boss it will attack all conscious characters
-                    else {
-                        for (int k = 0; k < adventureParty.size(); k++) {
-                            if (adventureParty.get(k).getCurrentHp() > 0){
-                                adventureParty.get(k).setCurrentHP(adventureParty.get(k).getCurrentHp() - damage);
-                                adventureParty.get(k).setTargeted(true);
+                    //every monster (bosses included) attacks a random character
+                    while (!correctTarget) {
+                        int index_character = dice.nextInt(adventureParty.size());
+                        //only target a character if they are conscious
+                        if (adventureParty.get(index_character).getCurrentHp() > 0) {
+                            adventureParty.get(index_character).setCurrentHP
+                                    (adventureParty.get(index_character).getCurrentHp() - damage);
+                            //if their HP is less than 0, set it to 0
+                            if (adventureParty.get(index_character).getCurrentHp() < 0) {
+                                adventureParty.get(index_character).setCurrentHP(0);
                             }
+                            //mark the character as targeted for future showing of the action
+                            correctTarget = true;
+                            adventureParty.get(index_character).setTargeted(true);
                         }
                     }
 
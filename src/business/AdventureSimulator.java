@@ -0,0 +1,295 @@
+package business;
+
+import business.entities.Adventure;
+import business.entities.AdventureOutcome;
+import business.entities.Character;
+import business.entities.SimulationReport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Class that estimates how likely a party is to complete an adventure by playing it many times with the
+ * {@link CombatEngine}, without any user interaction.
+ *
+ * <p>The playthroughs are split into batches that run in parallel on the common fork/join pool. Every playthrough uses
+ * its own copies of the characters and the monsters, and every batch rolls its dice with its own generator and keeps
+ * its own counters, which are only added up once all of them are done, so the workers never share anything while they
+ * play. The generators of the batches are split from a single one before any of them starts, so the same seed always
+ * gives the same results, whatever the number of workers.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class AdventureSimulator {
+
+    // Confidence of the interval given for the win probability
+    private static final double CONFIDENCE = 0.95;
+    // Standard normal quantile of the confidence above
+    private static final double Z = 1.959963984540054;
+    // Number of batches the playthroughs are split into, enough for slower batches not to leave other workers idle
+    private static final int BATCHES = 256;
+
+    // Engine that plays every playthrough
+    private final CombatEngine engine;
+
+    /**
+     * Parametrized constructor to estimate adventures played by an engine.
+     *
+     * @param engine the engine that plays every playthrough
+     */
+    public AdventureSimulator(CombatEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Method that plays an adventure several times with the same party and gathers the results.
+     *
+     * <p>Neither the party nor the adventure given are modified.
+     *
+     * @param adventureParty the characters of the party
+     * @param adventure the adventure to play
+     * @param runs the number of playthroughs
+     * @return the win probability with its confidence interval, how many rounds each encounter lasted and how often
+     * each character was knocked out
+     * @throws IllegalArgumentException if the number of playthroughs is negative
+     */
+    public SimulationReport simulate(ArrayList<Character> adventureParty, Adventure adventure, int runs) {
+        return simulate(adventureParty, adventure, runs, RandomSource.newGenerator());
+    }
+
+    /**
+     * Method that plays an adventure several times with the same party and gathers the results, always rolling the
+     * same dice for the same seed.
+     *
+     * @param adventureParty the characters of the party
+     * @param adventure the adventure to play
+     * @param runs the number of playthroughs
+     * @param seed the seed of the dice rolled
+     * @return the win probability with its confidence interval, how many rounds each encounter lasted and how often
+     * each character was knocked out
+     * @throws IllegalArgumentException if the number of playthroughs is negative
+     */
+    public SimulationReport simulate(ArrayList<Character> adventureParty, Adventure adventure, int runs, long seed) {
+        return simulate(adventureParty, adventure, runs, RandomSource.newGenerator(seed));
+    }
+
+    /**
+     * Method that plays an adventure several times with the same party, splitting the generator of each batch from the
+     * given one.
+     *
+     * @param adventureParty the characters of the party
+     * @param adventure the adventure to play
+     * @param runs the number of playthroughs
+     * @param random the generator the ones of the batches are split from
+     * @return the results of the playthroughs
+     * @throws IllegalArgumentException if the number of playthroughs is negative
+     */
+    private SimulationReport simulate(ArrayList<Character> adventureParty, Adventure adventure, int runs,
+                                      SplittableGenerator random) {
+        if (runs < 0) {
+            throw new IllegalArgumentException("The number of playthroughs can't be negative: " + runs);
+        }
+
+        // The number of batches, and so the split given to each playthrough, doesn't depend on the number of workers
+        int batches = Math.max(1, Math.min(runs, BATCHES));
+        RandomGenerator[] generators = new RandomGenerator[batches];
+        for (int batch = 0; batch < batches; batch++) {
+            generators[batch] = random.split();
+        }
+        Tally total = IntStream.range(0, batches)
+                .parallel()
+                .mapToObj(batch -> play(adventureParty, adventure, runs / batches + (batch < runs % batches ? 1 : 0),
+                        generators[batch]))
+                .reduce(Tally::merge)
+                .orElseThrow();
+
+        LinkedHashMap<String, Double> knockoutRates = new LinkedHashMap<>();
+        for (int i = 0; i < adventureParty.size(); i++) {
+            knockoutRates.put(adventureParty.get(i).getName(), runs == 0 ? 0 : (double) total.knockouts[i] / runs);
+        }
+        double[] interval = wilsonInterval(total.wins, runs);
+        return new SimulationReport(runs, total.wins, CONFIDENCE, interval[0], interval[1], total.rounds, knockoutRates);
+    }
+
+    /**
+     * Method that plays a batch of playthroughs on the current thread.
+     *
+     * @param adventureParty the characters of the party, which are copied for each playthrough
+     * @param adventure the adventure to play, which is copied for each playthrough
+     * @param runs the number of playthroughs of the batch
+     * @param dice the generator of the dice rolled in the batch
+     * @return the counters of the batch
+     */
+    private Tally play(ArrayList<Character> adventureParty, Adventure adventure, int runs, RandomGenerator dice) {
+        Tally tally = new Tally(adventureParty.size(), adventure.getEncounters().size());
+        Character[] members = new Character[adventureParty.size()];
+        KnockoutListener listener = new KnockoutListener(members);
+
+        for (int run = 0; run < runs; run++) {
+            ArrayList<Character> party = new ArrayList<>(members.length);
+            for (int i = 0; i < members.length; i++) {
+                members[i] = new Character(adventureParty.get(i));
+                party.add(members[i]);
+            }
+            listener.reset();
+
+            AdventureOutcome outcome = engine.play(party, new Adventure(adventure), listener, dice);
+            tally.add(outcome, listener.knockedOut);
+        }
+        return tally;
+    }
+
+    /**
+     * Method that calculates the Wilson score interval of a proportion, which stays within [0, 1] and is still
+     * meaningful when there are few playthroughs or the proportion is close to 0 or 1.
+     *
+     * @param successes the number of successes
+     * @param trials the number of trials
+     * @return the lower and upper bounds of the interval
+     */
+    private static double[] wilsonInterval(long successes, long trials) {
+        if (trials == 0) {
+            return new double[] {0, 1};
+        }
+        double p = (double) successes / trials;
+        double z2 = Z * Z;
+        double denominator = 1 + z2 / trials;
+        double center = (p + z2 / (2.0 * trials)) / denominator;
+        double margin = Z * Math.sqrt(p * (1 - p) / trials + z2 / (4.0 * trials * trials)) / denominator;
+        return new double[] {Math.max(0, center - margin), Math.min(1, center + margin)};
+    }
+
+    /**
+     * Class that remembers which characters were knocked out at some point of a playthrough, even if they got their
+     * health back afterwards by levelling up.
+     *
+     * <p>Nobody gets any health back during a combat, so it's enough to look at the characters once each combat is over,
+     * which lets the engine play the rounds without bringing them up to date after every action.
+     */
+    private static class KnockoutListener extends CombatAdapter {
+
+        // Characters of the playthrough, in the order of the party given
+        private final Character[] members;
+        // Whether each character has been knocked out, in the same order
+        private final boolean[] knockedOut;
+
+        /**
+         * Parametrized constructor to watch the characters of the playthroughs.
+         *
+         * @param members the array where the characters of each playthrough are placed
+         */
+        private KnockoutListener(Character[] members) {
+            this.members = members;
+            this.knockedOut = new boolean[members.length];
+        }
+
+        /**
+         * Method that forgets the knockouts of the previous playthrough.
+         */
+        private void reset() {
+            Arrays.fill(knockedOut, false);
+        }
+
+        @Override
+        public boolean followsActions() {
+            return false;
+        }
+
+        @Override
+        public void partyDefeated() {
+            combatOver();
+        }
+
+        @Override
+        public void encounterWon() {
+            combatOver();
+        }
+
+        /**
+         * Method that marks the characters left unconscious by the combat that just ended.
+         */
+        private void combatOver() {
+            for (int i = 0; i < members.length; i++) {
+                if (members[i].getCurrentHp() <= 0) {
+                    knockedOut[i] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Class that adds up the results of several playthroughs.
+     */
+    private static class Tally {
+
+        // Number of playthroughs won
+        private long wins;
+        // Number of playthroughs in which each character was knocked out
+        private final long[] knockouts;
+        // For each encounter, number of playthroughs in which it lasted each number of rounds
+        private final long[][] rounds;
+
+        /**
+         * Parametrized constructor to start counting from zero.
+         *
+         * @param characters the number of characters of the party
+         * @param encounters the number of encounters of the adventure
+         */
+        private Tally(int characters, int encounters) {
+            this.knockouts = new long[characters];
+            this.rounds = new long[encounters][];
+            Arrays.fill(rounds, new long[0]);
+        }
+
+        /**
+         * Method that counts the result of a playthrough.
+         *
+         * @param outcome the outcome of the playthrough
+         * @param knockedOut whether each character was knocked out during the playthrough
+         */
+        private void add(AdventureOutcome outcome, boolean[] knockedOut) {
+            if (outcome.isVictory()) {
+                wins++;
+            }
+            for (int i = 0; i < knockedOut.length; i++) {
+                if (knockedOut[i]) {
+                    knockouts[i]++;
+                }
+            }
+            for (int i = 0; i < outcome.getEncountersPlayed(); i++) {
+                int played = outcome.getRounds(i);
+                if (played >= rounds[i].length) {
+                    rounds[i] = Arrays.copyOf(rounds[i], played + 1);
+                }
+                rounds[i][played]++;
+            }
+        }
+
+        /**
+         * Method that adds the counters of another batch to these ones.
+         *
+         * @param other the counters of the other batch
+         * @return these counters
+         */
+        private Tally merge(Tally other) {
+            wins += other.wins;
+            for (int i = 0; i < knockouts.length; i++) {
+                knockouts[i] += other.knockouts[i];
+            }
+            for (int i = 0; i < rounds.length; i++) {
+                if (other.rounds[i].length > rounds[i].length) {
+                    rounds[i] = Arrays.copyOf(rounds[i], other.rounds[i].length);
+                }
+                for (int j = 0; j < other.rounds[i].length; j++) {
+                    rounds[i][j] += other.rounds[i][j];
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package business;
+
+import business.entities.Adventure;
+import business.entities.AdventureHeader;
+import business.entities.Character;
+import business.entities.CharacterPage;
+import business.entities.MonsterTemplate;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Class that runs the operations of a {@link BusinessFacade} that read or write the persisted data in the background,
+ * so that the presentation layer can keep interacting with the user in the meantime.
+ *
+ * <p>Every operation returns a future with the same result the blocking operation would have returned. By default,
+ * they run on virtual threads if the Java runtime supports them, or on a pool of daemon threads otherwise.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class AsyncBusinessFacade {
+
+    // Facade that does the actual work
+    private final BusinessFacade facade;
+    // Executor where the operations run
+    private final Executor executor;
+
+    /**
+     * Parametrized constructor to run the operations of a facade on the default executor.
+     *
+     * @param facade the facade that does the actual work
+     */
+    public AsyncBusinessFacade(BusinessFacade facade) {
+        this(facade, defaultExecutor());
+    }
+
+    /**
+     * Parametrized constructor to run the operations of a facade on a specific executor.
+     *
+     * @param facade the facade that does the actual work
+     * @param executor the executor where the operations run
+     */
+    public AsyncBusinessFacade(BusinessFacade facade, Executor executor) {
+        this.facade = facade;
+        this.executor = executor;
+    }
+
+    /**
+     * Method that creates the default executor: one virtual thread per operation if the runtime supports them
+     * (Java 21 onwards), or a pool of daemon threads that grows on demand otherwise.
+     *
+     * @return the executor
+     */
+    public static ExecutorService defaultExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "business-async");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Method that reads the adventures in the background.
+     *
+     * @return a future with an array list containing object representations of all the adventures
+     */
+    public CompletableFuture<ArrayList<Adventure>> findAdventures() {
+        return run(facade::findAdventures);
+    }
+
+    /**
+     * Method that reads the headers of the adventures in the background.
+     *
+     * @return a future with an array list containing the name, number of encounters and total experience of all adventures
+     */
+    public CompletableFuture<ArrayList<AdventureHeader>> findAdventureHeaders() {
+        return run(facade::findAdventureHeaders);
+    }
+
+    /**
+     * Method that reads an adventure with its encounters in the background.
+     *
+     * @param name a string representation of the adventure's name
+     * @return a future with an object representation of the adventure, or null if it doesn't exist or can't be read
+     */
+    public CompletableFuture<Adventure> findAdventureByName(String name) {
+        return run(() -> facade.findAdventureByName(name));
+    }
+
+    /**
+     * Method that reads the monsters in the background.
+     *
+     * @return a future with an array list containing object representations of all the monsters
+     */
+    public CompletableFuture<ArrayList<MonsterTemplate>> findMonsters() {
+        return run(facade::findMonsters);
+    }
+
+    /**
+     * Method that searches existing characters for those owned by a given player name in the background.
+     *
+     * @param playerName a string representation of the name of the player whose characters we need to look for
+     * @return a future with an array list containing object representations of all characters owned by the given player
+     */
+    public CompletableFuture<ArrayList<Character>> findCharacterByPlayerName(String playerName) {
+        return run(() -> facade.findCharacterByPlayerName(playerName));
+    }
+
+    /**
+     * Method that gets the names of a page of the characters owned by a given player name in the background.
+     *
+     * @param playerName a string representation of the name of the player whose characters we need to look for
+     * @param page the number of the page, starting at 0
+     * @param pageSize the number of characters in a page
+     * @return a future with an object representation of the page
+     */
+    public CompletableFuture<CharacterPage> findCharacterPageByPlayerName(String playerName, int page, int pageSize) {
+        return run(() -> facade.findCharacterPageByPlayerName(playerName, page, pageSize));
+    }
+
+    /**
+     * Method that adds a character to the system in the background.
+     *
+     * @param characterName a string representation of the character's name
+     * @param playerName a string representation of the character's creator
+     * @param level an int representation of the character's level which is turned to xp
+     * @param stats an array of ints that represents the character's statistics
+     * @return a future with whether the character was successfully created or not
+     */
+    public CompletableFuture<Boolean> addNewCharacter(String characterName, String playerName, int level, int[] stats) {
+        return run(() -> facade.addNewCharacter(characterName, playerName, level, stats));
+    }
+
+    /**
+     * Method that persists the changes of a character in the background.
+     *
+     * @param character an object representation of the character to update
+     * @return a future with whether the character was successfully updated or not
+     */
+    public CompletableFuture<Boolean> updateCharacter(Character character) {
+        return run(() -> facade.updateCharacter(character));
+    }
+
+    /**
+     * Method that persists the changes of several characters at once in the background.
+     *
+     * @param characters the characters to update
+     * @return a future with whether the characters were successfully updated or not
+     */
+    public CompletableFuture<Boolean> updateCharacters(ArrayList<Character> characters) {
+        return run(() -> facade.updateCharacters(characters));
+    }
+
+    /**
+     * Method that runs an operation of the facade on the executor.
+     *
+     * @param operation the operation
+     * @param <T> the type of the result of the operation
+     * @return a future with the result of the operation
+     */
+    private <T> CompletableFuture<T> run(Supplier<T> operation) {
+        return CompletableFuture.supplyAsync(operation, executor);
+    }
+}
@@ -1,9 +1,13 @@
 package business;
 
 import business.entities.Adventure;
+import business.entities.AdventureHeader;
+import business.entities.AdventureOutcome;
 import business.entities.Character;
+import business.entities.CharacterPage;
 import business.entities.Encounter;
-import business.entities.Monster;
+import business.entities.MonsterTemplate;
+import business.entities.SimulationReport;
 import persistence.exceptions.PersistenceException;
 
 import java.io.IOException;
@@ -57,6 +61,32 @@ public interface  BusinessFacade {
      */
     ArrayList<Character> findCharacterByPlayerName(String playerName);
 
+    /**
+     * Method that gets the names of a page of the characters owned by a given player name.
+     *
+     * @param playerName a string representation of the name of the player whose characters we need to look for
+     * @param page the number of the page, starting at 0
+     * @param pageSize the number of characters in a page
+     * @return an object representation of the page
+     */
+    CharacterPage findCharacterPageByPlayerName(String playerName, int page, int pageSize);
+
+    /**
+     * Method that gets the names of the characters owned by a given player name, without reading the rest of their information.
+     *
+     * @param playerName a string representation of the name of the player whose characters we need to look for
+     * @return an array containing string representations of the characters' names
+     */
+    String[] findCharacterNamesByPlayerName(String playerName);
+
+    /**
+     * Method that gets a character given its name.
+     *
+     * @param name a string representation of the character's name
+     * @return an object representation of the character, or null if it doesn't exist
+     */
+    Character findCharacterByName(String name);
+
     /**
      * Method that checks whether the character choice by the user is within the bounds of the list
      *
@@ -123,7 +153,7 @@ public interface  BusinessFacade {
      */
     boolean addNewAdventure(String adventureName, ArrayList<Encounter> encounters);
 
-    ArrayList<Monster> findMonsters();
+    ArrayList<MonsterTemplate> findMonsters();
 
     /**
      * Method that checks whether the max number of boss monsters in the encounter has been exceeded.
@@ -133,17 +163,17 @@ public interface  BusinessFacade {
      * @param quantity
      * @return whether the encounter passes the requirement or not
      */
-    boolean bossMonsterCheck(Encounter encounter, Monster monster, int quantity);
+    boolean bossMonsterCheck(Encounter encounter, MonsterTemplate monster, int quantity);
 
     /**
-     * Method that adds a monster to the encounter.
+     * Method that adds a monster to the encounter, creating a new instance of it for each one added.
      *
      * @param encounter the encounter where the monster should be added
-     * @param monster   the monster to add
+     * @param monster   the template of the monster to add
      * @param quantity the quantity of the monster to add
      * @return NONE
      */
-    void addMonsterToEncounter(Encounter encounter, Monster monster, int quantity);
+    void addMonsterToEncounter(Encounter encounter, MonsterTemplate monster, int quantity);
 
     /**
      * Method that checks whether the encounter is empty.
@@ -183,6 +213,21 @@ public interface  BusinessFacade {
 
     ArrayList<Adventure> findAdventures();
 
+    /**
+     * Method that searches for the headers of the existing adventures, without reading their encounters.
+     *
+     * @return an array list containing the name, number of encounters and total experience of all adventures
+     */
+    ArrayList<AdventureHeader> findAdventureHeaders();
+
+    /**
+     * Method that searches for an existing adventure by its name, reading its encounters.
+     *
+     * @param name a string representation of the adventure's name
+     * @return an object representation of the adventure, or null if it doesn't exist or can't be read
+     */
+    Adventure findAdventureByName(String name);
+
     /**
      * Method that checks whether the name that was input by the user already exists in the party.
      *
@@ -293,6 +338,29 @@ public interface  BusinessFacade {
      */
     int getTotalXP(Encounter encounter);
 
+    /**
+     * Method that plays an adventure with a party until it's won or every character is unconscious, without any user
+     * interaction.
+     *
+     * @param adventureParty the characters of the party
+     * @param adventure the adventure to play
+     * @param listener the listener to notify of everything that happens, or null to play silently
+     * @return the outcome of the adventure
+     */
+    AdventureOutcome playAdventure(ArrayList<Character> adventureParty, Adventure adventure, CombatListener listener);
+
+    /**
+     * Method that estimates how likely a party is to complete an adventure by playing it many times in parallel,
+     * without modifying the party or the adventure.
+     *
+     * @param adventureParty the characters of the party
+     * @param adventure the adventure to play
+     * @param runs the number of playthroughs
+     * @return the win probability with its confidence interval, how many rounds each encounter lasted and how often
+     * each character was knocked out
+     */
+    SimulationReport simulateAdventure(ArrayList<Character> adventureParty, Adventure adventure, int runs);
+
     /**
      * Method that generates the short rest stage actions after the encounter
      *
@@ -317,5 +385,13 @@ public interface  BusinessFacade {
      * @return whether the character was successfully updated or not
      */
     boolean updateCharacter(Character character);
+
+    /**
+     * Method that updates the xp of several characters after the adventure, persisting all of them at once
+     *
+     * @param characters the characters involved in the adventure
+     * @return whether the characters were successfully updated or not
+     */
+    boolean updateCharacters(ArrayList<Character> characters);
 }
 
@@ -1,11 +1,18 @@
 package business;
 
 import business.entities.Adventure;
+import business.entities.AdventureHeader;
+import business.entities.AdventureOutcome;
 import business.entities.Character;
+import business.entities.CharacterPage;
 import business.entities.Encounter;
-import business.entities.Monster;
+import business.entities.MonsterTemplate;
+import business.entities.SimulationReport;
 import persistence.exceptions.MonsterFileNotFoundException;
 import persistence.exceptions.PersistenceException;
+import persistence.json.monster.CachedMonsterDAO;
+import persistence.json.monster.MonsterDAO;
+import persistence.json.monster.MonsterJsonDAO;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -18,20 +25,42 @@ import java.util.ArrayList;
  */
 public class BusinessFacadeImpl implements BusinessFacade {
 
+    // Path to the file where the monsters are persisted
+    private static final String MONSTERS_PATH = "data/monsters.json";
+
     // Manager for the application's characters
     private CharacterManager characterManager;
     private MonsterManager monsterManager;
     private AdventureManager adventureManager;
+    // Engine that plays the adventures with the rules of the managers
+    private CombatEngine combatEngine;
+    // Simulator that estimates the adventures with the engine
+    private AdventureSimulator simulator;
 
     /**
      * Default constructor, which initializes the managers needed to abstract this class from the rest of the layer.
      *
+     * <p>The monsters are loaded once and shared by the manager of the monsters and the one of the adventures, whose
+     * encounters reference them; they are loaded again whenever their file changes, if its directory can be watched.
+     *
      * @throws PersistenceException if the managers can't be instantiated because of errors in lower layers
+     * @throws MonsterFileNotFoundException if the monsters file doesn't exist
      */
     public BusinessFacadeImpl() throws PersistenceException, MonsterFileNotFoundException {
+        MonsterDAO json = new MonsterJsonDAO(MONSTERS_PATH);
+        CachedMonsterDAO monsters;
+        try {
+            monsters = new CachedMonsterDAO(json, MONSTERS_PATH);
+        } catch (IOException e) {
+            // The monsters are only loaded once
+            monsters = new CachedMonsterDAO(json);
+        }
+
         characterManager = new CharacterManager();
-        monsterManager = new MonsterManager();
-        adventureManager = new AdventureManager();
+        monsterManager = new MonsterManager(monsters);
+        adventureManager = new AdventureManager(monsters);
+        combatEngine = new CombatEngine(adventureManager, characterManager);
+        simulator = new AdventureSimulator(combatEngine);
     }
 
 
@@ -86,6 +115,41 @@ public class BusinessFacadeImpl implements BusinessFacade {
         return characterManager.findCharacterByPlayerName(playerName);
     }
 
+    @Override
+    /**
+     * Method that gets the names of a page of the characters owned by a given player name.
+     *
+     * @param playerName a string representation of the name of the player whose characters we need to look for
+     * @param page the number of the page, starting at 0
+     * @param pageSize the number of characters in a page
+     * @return an object representation of the page
+     */
+    public CharacterPage findCharacterPageByPlayerName(String playerName, int page, int pageSize){
+        return characterManager.findCharacterPageByPlayerName(playerName, page, pageSize);
+    }
+
+    @Override
+    /**
+     * Method that gets the names of the characters owned by a given player name, without reading the rest of their information.
+     *
+     * @param playerName a string representation of the name of the player whose characters we need to look for
+     * @return an array containing string representations of the characters' names
+     */
+    public String[] findCharacterNamesByPlayerName(String playerName){
+        return characterManager.findCharacterNamesByPlayerName(playerName);
+    }
+
+    @Override
+    /**
+     * Method that gets a character given its name.
+     *
+     * @param name a string representation of the character's name
+     * @return an object representation of the character, or null if it doesn't exist
+     */
+    public Character findCharacterByName(String name){
+        return characterManager.findCharacterByName(name);
+    }
+
     @Override
     /**
      * Method that checks whether the character choice by the user is within the bounds of the list
@@ -173,7 +237,7 @@ public class BusinessFacadeImpl implements BusinessFacade {
         return adventureManager.addNewAdventure(adventureName, encounters);
     }
 
-    public ArrayList<Monster> findMonsters(){
+    public ArrayList<MonsterTemplate> findMonsters(){
         return monsterManager.findMonsters();
     }
 
@@ -185,19 +249,19 @@ public class BusinessFacadeImpl implements BusinessFacade {
      * @param monster the monster to check
      * @return whether the encounter passes the requirement or not
      */
-    public boolean bossMonsterCheck(Encounter encounter, Monster monster, int quantity){
+    public boolean bossMonsterCheck(Encounter encounter, MonsterTemplate monster, int quantity){
         return adventureManager.bossMonsterCheck(encounter, monster, quantity);
     }
 
     /**
-     * Method that adds a monster to the encounter.
+     * Method that adds a monster to the encounter, creating a new instance of it for each one added.
      *
      * @param encounter the encounter where the monster should be added
-     * @param monster   the monster to add
+     * @param monster   the template of the monster to add
      * @param quantity the quantity of the monster to add
      * @return NONE
      */
-    public void addMonsterToEncounter(Encounter encounter, Monster monster, int quantity){
+    public void addMonsterToEncounter(Encounter encounter, MonsterTemplate monster, int quantity){
         adventureManager.addMonsterToEncounter(encounter, monster, quantity);
     }
 
@@ -251,6 +315,16 @@ public class BusinessFacadeImpl implements BusinessFacade {
         return adventureManager.findAdventures();
     }
 
+    @Override
+    public ArrayList<AdventureHeader> findAdventureHeaders() {
+        return adventureManager.findAdventureHeaders();
+    }
+
+    @Override
+    public Adventure findAdventureByName(String name) {
+        return adventureManager.findAdventureByName(name);
+    }
+
     /**
      * Method that checks whether the name that was input by the user already exists in the party.
      *
@@ -388,6 +462,35 @@ public class BusinessFacadeImpl implements BusinessFacade {
         return adventureManager.getTotalXP(encounter);
     }
 
+    /**
+     * Method that plays an adventure with a party until it's won or every character is unconscious, without any user
+     * interaction.
+     *
+     * @param adventureParty the characters of the party
+     * @param adventure the adventure to play
+     * @param listener the listener to notify of everything that happens, or null to play silently
+     * @return the outcome of the adventure
+     */
+    @Override
+    public AdventureOutcome playAdventure(ArrayList<Character> adventureParty, Adventure adventure, CombatListener listener) {
+        return combatEngine.play(adventureParty, adventure, listener);
+    }
+
+    /**
+     * Method that estimates how likely a party is to complete an adventure by playing it many times in parallel,
+     * without modifying the party or the adventure.
+     *
+     * @param adventureParty the characters of the party
+     * @param adventure the adventure to play
+     * @param runs the number of playthroughs
+     * @return the win probability with its confidence interval, how many rounds each encounter lasted and how often
+     * each character was knocked out
+     */
+    @Override
+    public SimulationReport simulateAdventure(ArrayList<Character> adventureParty, Adventure adventure, int runs) {
+        return simulator.simulate(adventureParty, adventure, runs);
+    }
+
     /**
      * Method that generates the short rest stage actions after the encounter
      *
@@ -419,5 +522,16 @@ public class BusinessFacadeImpl implements BusinessFacade {
         return characterManager.updateCharacter(character);
     }
 
+    /**
+     * Method that updates the xp of several characters after the adventure, persisting all of them at once
+     *
+     * @param characters the characters involved in the adventure
+     * @return whether the characters were successfully updated or not
+     */
+    @Override
+    public boolean updateCharacters(ArrayList<Character> characters){
+        return characterManager.updateCharacters(characters);
+    }
+
 
 }
\ No newline at end of file
@@ -1,14 +1,16 @@
 package business;
 
 import persistence.exceptions.PersistenceException;
+import persistence.json.character.CachedCharacterDAO;
 import persistence.json.character.CharacterDAO;
 import persistence.json.character.CharacterJsonDAO;
 import business.entities.Character;
+import business.entities.CharacterPage;
+import business.entities.Dice;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Objects;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,14 +25,42 @@ public class CharacterManager {
     // Abstraction from the persistence layer in the form of a Data Access Object, specifically for characters
 
     private final CharacterDAO dao;
+    // Path to the file where the characters are persisted
+    private static final String CHARACTERS_PATH = "data/characters.json";
+    // Dice rolled for the healing of an adventurer's short rest
+    private static final Dice HEALING_DICE = Dice.parse("d8");
+    // Generator of the dice rolled by the methods that aren't given one, only to be used from a single thread
+    private final RandomGenerator random;
 
     /**
-     * Default constructor, which uses the JSON Data Access Object for characters with a fixed file.
+     * Default constructor, which uses the JSON Data Access Object for characters with a fixed file, keeping its
+     * characters in memory between calls.
      *
      * @throws PersistenceException if the manager can't be instantiated because of errors in the persistence layer
      */
     public CharacterManager() throws PersistenceException {
-        dao = new CharacterJsonDAO("data/characters.json");
+        this(new CachedCharacterDAO(new CharacterJsonDAO(CHARACTERS_PATH), CHARACTERS_PATH));
+    }
+
+    /**
+     * Parametrized constructor, which uses the given Data Access Object for characters (for example, a journaled one).
+     *
+     * @param dao the Data Access Object to persist the characters with
+     */
+    public CharacterManager(CharacterDAO dao) {
+        this(dao, RandomSource.newGenerator());
+    }
+
+    /**
+     * Parametrized constructor, which uses the given Data Access Object for characters and rolls the dice with the
+     * given generator when it isn't given another one.
+     *
+     * @param dao the Data Access Object to persist the characters with
+     * @param random the generator of the dice rolled, only to be used from a single thread
+     */
+    public CharacterManager(CharacterDAO dao, RandomGenerator random) {
+        this.dao = dao;
+        this.random = random;
     }
 
 
@@ -72,16 +102,7 @@ public class CharacterManager {
      * @return whether the name is already in use or not
      */
     public boolean checkUniqueName (String name) throws IOException {
-        boolean unique = true;
-        ArrayList<Character> characters = dao.getAll();
-        if (!characters.isEmpty()) {
-            for (int i = 0; i < characters.size(); i++) {
-                if (Objects.equals(name, characters.get(i).getName())) {
-                    unique = false;
-                }
-            }
-        }
-        return unique;
+        return dao.getByCharacterName(name) == null;
     }
 
 
@@ -129,6 +150,61 @@ public class CharacterManager {
         }
     }
 
+    /**
+     * Method that gets the names of a page of the characters owned by a given player name, reading only the names in
+     * that page.
+     *
+     * @param playerName a string representation of the name of the player whose characters we need to look for ("\n" for every player)
+     * @param page the number of the page, starting at 0
+     * @param pageSize the number of characters in a page
+     * @return an object representation of the page, which is empty if something goes wrong
+     */
+    public CharacterPage findCharacterPageByPlayerName(String playerName, int page, int pageSize) {
+        try {
+            String query = playerName.equals("\n") ? "" : playerName;
+            // One more name than the page holds tells whether there is a next page
+            ArrayList<String> names = dao.getNamesByPlayerName(query, page * pageSize, pageSize + 1);
+            boolean hasNext = names.size() > pageSize;
+            if (hasNext) {
+                names.remove(pageSize);
+            }
+
+            return new CharacterPage(names.toArray(new String[0]), page, hasNext);
+        } catch (PersistenceException | IOException ignored) {
+            return new CharacterPage(new String[0], page, false);
+        }
+    }
+
+    /**
+     * Method that gets the names of the characters owned by a given player name, without reading the rest of their
+     * information.
+     *
+     * @param playerName a string representation of the name of the player whose characters we need to look for ("\n" for every player)
+     * @return an array containing string representations of the characters' names, which is empty if something goes wrong
+     */
+    public String[] findCharacterNamesByPlayerName(String playerName) {
+        try {
+            String query = playerName.equals("\n") ? "" : playerName;
+            return dao.getNamesByPlayerName(query, 0, Integer.MAX_VALUE).toArray(new String[0]);
+        } catch (PersistenceException | IOException ignored) {
+            return new String[0];
+        }
+    }
+
+    /**
+     * Method that gets a character given its name.
+     *
+     * @param name a string representation of the character's name
+     * @return an object representation of the character, or null if it doesn't exist or something goes wrong
+     */
+    public Character findCharacterByName(String name) {
+        try {
+            return dao.getByCharacterName(name);
+        } catch (IOException ignored) {
+            return null;
+        }
+    }
+
     /**
      * Method that extracts the names of a list of characters.
      *
@@ -258,12 +334,8 @@ public class CharacterManager {
     public int checkNumCharacters() {
 
         try{
-            ArrayList<Character> characters;
-
-            characters = dao.getAll();
-
-            return characters.size();
-        } catch (IOException ignored){
+            return dao.getNamesByPlayerName("", 0, Integer.MAX_VALUE).size();
+        } catch (PersistenceException | IOException ignored){
             return 0;
         }
     }
@@ -275,13 +347,7 @@ public class CharacterManager {
      * @return the ArrayList containing the characters
      */
     public ArrayList<Character> createAdventureParty(String[] partyNames) throws IOException {
-        ArrayList<Character> party = new ArrayList<>();
-        Character character;
-        for (int i = 0; i < partyNames.length; i++) {
-            character = dao.getByCharacterName(partyNames[i]);
-            party.add(character);
-        }
-        return party;
+        return dao.getByCharacterNames(partyNames);
     }
 
     /**
@@ -327,7 +393,18 @@ public class CharacterManager {
      * @return int representation of the amount of health the character has recovered
      */
     public int shortRestActions(Character character, boolean levelUp) {
-        Random dice = new Random();
+        return shortRestActions(character, levelUp, random);
+    }
+
+    /**
+     * Method that generates the short rest stage actions after the encounter, rolling the dice with a specific generator.
+     *
+     * @param character the character involved in the encounter
+     * @param levelUp   whether the character leveled up or not
+     * @param dice      the generator of the dice rolled
+     * @return int representation of the amount of health the character has recovered
+     */
+    public int shortRestActions(Character character, boolean levelUp, RandomGenerator dice) {
         if (levelUp) {
             initializeHP(character);
         }
@@ -336,7 +413,7 @@ public class CharacterManager {
         if (character.getCurrentHp() > 0) {
             switch (characterClass) {
                 case "Adventurer":
-                    healing = dice.nextInt(8) + 1 + character.getMind();
+                    healing = HEALING_DICE.roll(dice) + character.getMind();
                     character.setCurrentHP(character.getCurrentHp() + healing);
                     if (character.getCurrentHp() > character.getMaxHp()) {
                         character.setCurrentHP(character.getMaxHp());
@@ -377,4 +454,19 @@ public class CharacterManager {
         return true;
     }
 
+    /**
+     * Method that updates the xp of several characters after the adventure, persisting all of them at once.
+     *
+     * @param characters the characters involved in the adventure
+     * @return whether the characters were successfully updated or not
+     */
+    public boolean updateCharacters(ArrayList<Character> characters){
+        try {
+            dao.updateAll(characters);
+        } catch (PersistenceException e) {
+            return false;
+        }
+        return true;
+    }
+
 }
@@ -0,0 +1,76 @@
+package business;
+
+import business.entities.Adventure;
+import business.entities.Character;
+import business.entities.Encounter;
+
+import java.util.ArrayList;
+
+/**
+ * Class that implements every method of the {@link CombatListener} interface doing nothing, to be extended by the
+ * listeners that only care about some of them.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public abstract class CombatAdapter implements CombatListener {
+
+    /**
+     * Method that tells whether the listener looks at the combatants during the combat rounds, which it does unless
+     * overridden, in case {@link #actionTaken(int, int, ArrayList, Encounter, int)} is.
+     *
+     * @return true
+     */
+    @Override
+    public boolean followsActions() {
+        return true;
+    }
+
+    @Override
+    public void encounterStarted(int number, Encounter encounter) {
+    }
+
+    @Override
+    public void preparationDone(ArrayList<Character> adventureParty) {
+    }
+
+    @Override
+    public void combatOrderSet(ArrayList<Character> adventureParty, Encounter encounter) {
+    }
+
+    @Override
+    public void combatStarted() {
+    }
+
+    @Override
+    public void roundStarted(int round, ArrayList<Character> adventureParty) {
+    }
+
+    @Override
+    public void actionTaken(int hit, int damage, ArrayList<Character> adventureParty, Encounter encounter, int combatant) {
+    }
+
+    @Override
+    public void roundEnded(int round) {
+    }
+
+    @Override
+    public void partyDefeated() {
+    }
+
+    @Override
+    public void encounterWon() {
+    }
+
+    @Override
+    public void experienceGained(Character character, int xpGained, boolean levelUp, int level) {
+    }
+
+    @Override
+    public void shortRestTaken(Character character, int healing) {
+    }
+
+    @Override
+    public void adventureWon(Adventure adventure) {
+    }
+}
@@ -0,0 +1,203 @@
+package business;
+
+import business.entities.Adventure;
+import business.entities.AdventureOutcome;
+import business.entities.Character;
+import business.entities.Encounter;
+
+import java.util.ArrayList;
+import java.util.random.RandomGenerator;
+
+/**
+ * Class that plays an adventure from start to finish without any user interaction, following the rules of the
+ * {@link AdventureManager} and the {@link CharacterManager}.
+ *
+ * <p>Each encounter goes through the preparation stage, the initiative and combat order, the combat rounds and, if the
+ * party wins, the experience gain and the short rest. Whoever wants to know what happens (such as the user interface)
+ * can pass a {@link CombatListener}; without one, the adventure is played silently.
+ *
+ * <p>The engine keeps no state between adventures, so the same one can play several of them at once as long as they
+ * don't share characters, monsters or random generators.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class CombatEngine {
+
+    // Listener used when no one wants to know what happens
+    private static final CombatListener SILENT = new CombatAdapter() {
+        @Override
+        public boolean followsActions() {
+            return false;
+        }
+    };
+
+    // Manager with the rules of the adventures and their combats
+    private final AdventureManager adventureManager;
+    // Manager with the rules of the characters
+    private final CharacterManager characterManager;
+    // Generator of the dice rolled by the adventures that aren't given one, only to be used from a single thread
+    private final RandomGenerator random;
+
+    /**
+     * Parametrized constructor to play adventures with the rules of the given managers.
+     *
+     * @param adventureManager the manager with the rules of the adventures and their combats
+     * @param characterManager the manager with the rules of the characters
+     */
+    public CombatEngine(AdventureManager adventureManager, CharacterManager characterManager) {
+        this(adventureManager, characterManager, RandomSource.newGenerator());
+    }
+
+    /**
+     * Parametrized constructor to play adventures with the rules of the given managers, rolling the dice with the given
+     * generator when it isn't given another one.
+     *
+     * @param adventureManager the manager with the rules of the adventures and their combats
+     * @param characterManager the manager with the rules of the characters
+     * @param random the generator of the dice rolled, only to be used from a single thread
+     */
+    public CombatEngine(AdventureManager adventureManager, CharacterManager characterManager, RandomGenerator random) {
+        this.adventureManager = adventureManager;
+        this.characterManager = characterManager;
+        this.random = random;
+    }
+
+    /**
+     * Method that plays an adventure with a party until it's won or every character is unconscious.
+     *
+     * <p>The characters and the monsters of the adventure are modified while playing, so the characters end up with
+     * the experience they gained and can be saved afterwards if the adventure was won.
+     *
+     * @param adventureParty the characters of the party
+     * @param adventure the adventure to play
+     * @param listener the listener to notify of everything that happens, or null to play silently
+     * @return the outcome of the adventure
+     */
+    public AdventureOutcome play(ArrayList<Character> adventureParty, Adventure adventure, CombatListener listener) {
+        return play(adventureParty, adventure, listener, random);
+    }
+
+    /**
+     * Method that plays an adventure with a party until it's won or every character is unconscious, rolling the dice
+     * with a specific generator.
+     *
+     * <p>Adventures played at the same time on different threads must be given different generators, such as splits of
+     * the same one.
+     *
+     * @param adventureParty the characters of the party
+     * @param adventure the adventure to play
+     * @param listener the listener to notify of everything that happens, or null to play silently
+     * @param dice the generator of the dice rolled
+     * @return the outcome of the adventure
+     */
+    public AdventureOutcome play(ArrayList<Character> adventureParty, Adventure adventure, CombatListener listener,
+                                 RandomGenerator dice) {
+        if (listener == null) {
+            listener = SILENT;
+        }
+
+        for (Character character : adventureParty) {
+            characterManager.initializeHP(character);
+        }
+        adventureManager.initializeCurrentHPMonsters(adventure);
+
+        ArrayList<Encounter> encounters = adventure.getEncounters();
+        int[] rounds = new int[encounters.size()];
+        CombatState state = new CombatState();
+        int numEncounters = 0;
+        while (numEncounters < encounters.size()) {
+            Encounter encounter = encounters.get(numEncounters);
+            int xpGained = adventureManager.getTotalXP(encounter);
+
+            listener.encounterStarted(numEncounters + 1, encounter);
+            adventureManager.preparationStage(adventureParty);
+            listener.preparationDone(adventureParty);
+            adventureManager.setInitiativeValues(adventureParty, encounter, dice);
+            adventureManager.setCombatOrder(adventureParty, encounter);
+            listener.combatOrderSet(adventureParty, encounter);
+
+            rounds[numEncounters] = playCombat(adventureParty, encounter, state, listener, dice);
+
+            if (adventureManager.checkTPU(adventureParty)) {
+                listener.partyDefeated();
+                return outcome(false, numEncounters, rounds);
+            }
+
+            listener.encounterWon();
+            for (Character character : adventureParty) {
+                boolean levelUp = characterManager.experienceGain(character, xpGained);
+                int level = characterManager.translateExpToLevel(character.getXp());
+                listener.experienceGained(character, xpGained, levelUp, level);
+                int healing = characterManager.shortRestActions(character, levelUp, dice);
+                listener.shortRestTaken(character, healing);
+                characterManager.reverseSupportActions(character);
+            }
+            numEncounters++;
+        }
+
+        listener.adventureWon(adventure);
+        return outcome(true, numEncounters, rounds);
+    }
+
+    /**
+     * Method that plays the combat rounds of an encounter until one of the sides has won.
+     *
+     * <p>The rounds are played on the state, which is only stored into the entities after each action when the listener
+     * follows the actions, and once the combat is over otherwise.
+     *
+     * @param adventureParty the characters of the party
+     * @param encounter the encounter being played
+     * @param state the state where the combat is played
+     * @param listener the listener to notify of everything that happens
+     * @param dice the generator of the dice rolled
+     * @return the number of rounds played
+     */
+    private int playCombat(ArrayList<Character> adventureParty, Encounter encounter, CombatState state,
+                           CombatListener listener, RandomGenerator dice) {
+        boolean watched = listener.followsActions();
+        int counterRound = 1;
+        // The combat order was given before anyone fell, so the slots stay the same during the whole combat
+        int totalCombatants = adventureParty.size() + encounter.getMonsters().size();
+
+        state.load(adventureParty, encounter);
+        listener.combatStarted();
+        while (!state.isPartyDown() && !state.areMonstersDefeated()) {
+            listener.roundStarted(counterRound, adventureParty);
+            for (int i = 0; i < totalCombatants && !state.isPartyDown() && !state.areMonstersDefeated(); i++) {
+                state.act(i, dice);
+                if (watched) {
+                    state.store();
+                    listener.actionTaken(state.getHit(), state.getDamage(), adventureParty, encounter, i);
+                }
+                state.endTurn();
+                if (watched) {
+                    state.store();
+                    state.removeDefeated(encounter);
+                }
+            }
+            listener.roundEnded(counterRound);
+            counterRound++;
+        }
+
+        state.store();
+        state.removeDefeated(encounter);
+        state.clear();
+        return counterRound - 1;
+    }
+
+    /**
+     * Method that builds the outcome of an adventure, leaving out the encounters that weren't played.
+     *
+     * @param victory whether the adventure was won or not
+     * @param encountersCleared the number of encounters won
+     * @param rounds the number of rounds played in each encounter
+     * @return the outcome of the adventure
+     */
+    private static AdventureOutcome outcome(boolean victory, int encountersCleared, int[] rounds) {
+        int played = victory ? encountersCleared : encountersCleared + 1;
+        int[] playedRounds = new int[played];
+        System.arraycopy(rounds, 0, playedRounds, 0, played);
+        return new AdventureOutcome(victory, encountersCleared, playedRounds);
+    }
+}
@@ -0,0 +1,134 @@
+package business;
+
+import business.entities.Adventure;
+import business.entities.Character;
+import business.entities.Encounter;
+
+import java.util.ArrayList;
+
+/**
+ * Interface that gets notified of everything that happens while the {@link CombatEngine} plays an adventure.
+ *
+ * <p>Every method is called on the thread running the adventure, with the combatants as they are at that moment, so
+ * the listener must not keep or modify them. {@link CombatAdapter} can be extended to only handle some of them.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public interface CombatListener {
+
+    /**
+     * Method that tells whether the listener looks at the combatants during the combat rounds, in
+     * {@link #roundStarted(int, ArrayList)} and {@link #actionTaken(int, int, ArrayList, Encounter, int)}.
+     *
+     * <p>If it doesn't, the combatants are only brought up to date once each combat is over, which is faster, and
+     * shouldn't be looked at in between.
+     *
+     * @return whether the combatants have to be up to date after every action or not
+     */
+    boolean followsActions();
+
+    /**
+     * Method called when an encounter starts, before the preparation stage.
+     *
+     * @param number the number of the encounter, starting at 1
+     * @param encounter the encounter that starts
+     * @return NONE
+     */
+    void encounterStarted(int number, Encounter encounter);
+
+    /**
+     * Method called once every character has taken their preparation stage action.
+     *
+     * @param adventureParty the characters of the party
+     * @return NONE
+     */
+    void preparationDone(ArrayList<Character> adventureParty);
+
+    /**
+     * Method called once the initiative and the combat order of every combatant are set.
+     *
+     * @param adventureParty the characters of the party
+     * @param encounter the encounter being played
+     * @return NONE
+     */
+    void combatOrderSet(ArrayList<Character> adventureParty, Encounter encounter);
+
+    /**
+     * Method called right before the first round of an encounter.
+     *
+     * @return NONE
+     */
+    void combatStarted();
+
+    /**
+     * Method called when a round starts.
+     *
+     * @param round the number of the round, starting at 1
+     * @param adventureParty the characters of the party
+     * @return NONE
+     */
+    void roundStarted(int round, ArrayList<Character> adventureParty);
+
+    /**
+     * Method called after a combatant takes their action, while the combatants hit are still marked as targeted.
+     *
+     * @param hit the dice roll that tells whether the attack missed (1), hit or was critical (10)
+     * @param damage the damage dealt
+     * @param adventureParty the characters of the party
+     * @param encounter the encounter being played
+     * @param combatant the combat order of the combatant that took the action
+     * @return NONE
+     */
+    void actionTaken(int hit, int damage, ArrayList<Character> adventureParty, Encounter encounter, int combatant);
+
+    /**
+     * Method called when a round ends.
+     *
+     * @param round the number of the round, starting at 1
+     * @return NONE
+     */
+    void roundEnded(int round);
+
+    /**
+     * Method called when every character of the party is unconscious, which ends the adventure.
+     *
+     * @return NONE
+     */
+    void partyDefeated();
+
+    /**
+     * Method called when every monster of an encounter is defeated, before the short rest.
+     *
+     * @return NONE
+     */
+    void encounterWon();
+
+    /**
+     * Method called when a character gains the experience of an encounter.
+     *
+     * @param character the character
+     * @param xpGained the experience gained
+     * @param levelUp whether the character levelled up or not
+     * @param level the level of the character after gaining the experience
+     * @return NONE
+     */
+    void experienceGained(Character character, int xpGained, boolean levelUp, int level);
+
+    /**
+     * Method called when a character takes their short rest action.
+     *
+     * @param character the character
+     * @param healing the health the character recovered
+     * @return NONE
+     */
+    void shortRestTaken(Character character, int healing);
+
+    /**
+     * Method called when every encounter of the adventure is won.
+     *
+     * @param adventure the adventure won
+     * @return NONE
+     */
+    void adventureWon(Adventure adventure);
+}
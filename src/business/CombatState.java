@@ -0,0 +1,322 @@
+package business;
+
+import business.entities.Character;
+import business.entities.Dice;
+import business.entities.Encounter;
+import business.entities.Monster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Class that holds the state of the combatants of an encounter in parallel arrays indexed by slot, so that the
+ * {@link CombatEngine} can play the combat rounds without going through the entities or allocating anything.
+ *
+ * <p>The characters take the first slots, in the order of the party, and the monsters the following ones, in the order
+ * of the encounter. The state is loaded from the entities once the combat order is set and stored back into them with
+ * {@link #store()}, after which {@link #removeDefeated(Encounter)} leaves out the defeated monsters like
+ * {@link AdventureManager#updateCombatants(ArrayList, Encounter)} does. The arrays only grow when an encounter has more
+ * combatants than the previous ones, so the same state can be reused for every encounter of an adventure.
+ *
+ * <p>The rules are the same as in {@link AdventureManager#combatStageActions(ArrayList, Encounter, int, RandomGenerator)},
+ * and the dice are rolled in the same order, so the same generator gives the same combat.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+final class CombatState {
+
+    // Characters of the party, in their slots
+    private Character[] characters;
+    // Monsters of the encounter, in their slots after the characters
+    private Monster[] monsters;
+    // Number of characters, which take the first slots
+    private int numCharacters;
+    // Number of combatants
+    private int numCombatants;
+    // Current hit points of each combatant
+    private int[] hp;
+    // Bonus added to the damage of each combatant
+    private int[] attackBonus;
+    // Dice rolled for the damage of each combatant
+    private Dice[] damage;
+    // Whether each combatant does something on their turn (only adventurers do among the characters)
+    private boolean[] acts;
+    // Whether each combatant has been hit during the current turn
+    private boolean[] targeted;
+    // Slot of the combatant with each combat order, or -1 if there's none
+    private int[] slotByOrder;
+    // Number of characters that are still conscious
+    private int conscious;
+    // Number of monsters that are still alive
+    private int alive;
+    // Dice roll of the last action, which tells whether the attack missed (1), hit or was critical (10)
+    private int hit;
+    // Damage dealt by the last action
+    private int lastDamage;
+
+    /**
+     * Default constructor, which creates an empty state that grows with the first encounter loaded.
+     */
+    CombatState() {
+        characters = new Character[0];
+        monsters = new Monster[0];
+        hp = new int[0];
+        attackBonus = new int[0];
+        damage = new Dice[0];
+        acts = new boolean[0];
+        targeted = new boolean[0];
+        slotByOrder = new int[0];
+    }
+
+    /**
+     * Method that loads the combatants of an encounter, once their combat order is set.
+     *
+     * @param adventureParty the characters of the party
+     * @param encounter the encounter being played
+     * @return NONE
+     */
+    void load(ArrayList<Character> adventureParty, Encounter encounter) {
+        ArrayList<Monster> encounterMonsters = encounter.getMonsters();
+        numCharacters = adventureParty.size();
+        numCombatants = numCharacters + encounterMonsters.size();
+        ensureCapacity();
+        Arrays.fill(slotByOrder, 0, numCombatants, -1);
+        conscious = 0;
+        alive = 0;
+
+        for (int slot = 0; slot < numCharacters; slot++) {
+            Character character = adventureParty.get(slot);
+            characters[slot] = character;
+            hp[slot] = character.getCurrentHp();
+            attackBonus[slot] = character.getBody();
+            damage[slot] = AdventureManager.ADVENTURER_DAMAGE_DICE;
+            acts[slot] = "Adventurer".equals(character.getClass_());
+            targeted[slot] = false;
+            setOrder(character.getCombatOrder(), slot);
+            if (hp[slot] > 0) {
+                conscious++;
+            }
+        }
+        for (int slot = numCharacters; slot < numCombatants; slot++) {
+            Monster monster = encounterMonsters.get(slot - numCharacters);
+            monsters[slot - numCharacters] = monster;
+            hp[slot] = monster.getCurrentHp();
+            attackBonus[slot] = 0;
+            damage[slot] = monster.getDamage();
+            acts[slot] = true;
+            targeted[slot] = false;
+            setOrder(monster.getCombatOrder(), slot);
+            if (hp[slot] > 0) {
+                alive++;
+            }
+        }
+    }
+
+    /**
+     * Method that makes the combatant with a combat order take their action.
+     *
+     * @param order the combat order of the combatant
+     * @param dice the generator of the dice rolled
+     * @return NONE
+     */
+    void act(int order, RandomGenerator dice) {
+        hit = AdventureManager.HIT_DICE.roll(dice);
+        lastDamage = 0;
+
+        int slot = order < numCombatants ? slotByOrder[order] : -1;
+        if (slot < 0 || hp[slot] <= 0 || !acts[slot]) {
+            return;
+        }
+
+        int dealt = damage[slot].roll(dice) + attackBonus[slot];
+        if (hit == 10) {
+            dealt = dealt * 2;
+        }
+        if (hit == 1) {
+            dealt = 0;
+        }
+        lastDamage = dealt;
+
+        if (slot < numCharacters) {
+            attackWeakestMonster(dealt);
+        } else {
+            attackRandomCharacter(dealt, dice);
+        }
+    }
+
+    /**
+     * Method that ends the turn of the last combatant, so that nobody is marked as targeted anymore.
+     *
+     * @return NONE
+     */
+    void endTurn() {
+        Arrays.fill(targeted, 0, numCombatants, false);
+    }
+
+    /**
+     * Method that stores the hit points and the targeted marks into the entities.
+     *
+     * @return NONE
+     */
+    void store() {
+        for (int slot = 0; slot < numCharacters; slot++) {
+            characters[slot].setCurrentHP(hp[slot]);
+            characters[slot].setTargeted(targeted[slot]);
+        }
+        for (int slot = numCharacters; slot < numCombatants; slot++) {
+            monsters[slot - numCharacters].setCurrentHp(hp[slot]);
+            monsters[slot - numCharacters].setTargeted(targeted[slot]);
+        }
+    }
+
+    /**
+     * Method that leaves the monsters defeated so far out of the encounter, once the state is stored.
+     *
+     * @param encounter the encounter being played
+     * @return NONE
+     */
+    void removeDefeated(Encounter encounter) {
+        ArrayList<Monster> encounterMonsters = encounter.getMonsters();
+        for (int i = 0; i < encounterMonsters.size(); i++) {
+            if (encounterMonsters.get(i).getCurrentHp() <= 0) {
+                encounterMonsters.remove(i);
+                i--;
+            }
+        }
+    }
+
+    /**
+     * Method that forgets the entities of the encounter, so that they can be collected once it's over.
+     *
+     * @return NONE
+     */
+    void clear() {
+        Arrays.fill(characters, 0, numCharacters, null);
+        Arrays.fill(monsters, 0, numCombatants - numCharacters, null);
+        Arrays.fill(damage, 0, numCombatants, null);
+    }
+
+    /**
+     * Method that checks whether every character of the party is unconscious.
+     *
+     * @return whether the party has no characters conscious or not
+     */
+    boolean isPartyDown() {
+        return conscious == 0;
+    }
+
+    /**
+     * Method that checks whether every monster of the encounter is defeated.
+     *
+     * @return whether the encounter has no monsters alive or not
+     */
+    boolean areMonstersDefeated() {
+        return alive == 0;
+    }
+
+    /**
+     * Method that gets the dice roll of the last action.
+     *
+     * @return the roll, which tells whether the attack missed (1), hit or was critical (10)
+     */
+    int getHit() {
+        return hit;
+    }
+
+    /**
+     * Method that gets the damage dealt by the last action.
+     *
+     * @return the damage
+     */
+    int getDamage() {
+        return lastDamage;
+    }
+
+    /**
+     * Method that makes an adventurer attack the monster with the lowest hit points.
+     *
+     * @param dealt the damage of the attack
+     * @return NONE
+     */
+    private void attackWeakestMonster(int dealt) {
+        int target = -1;
+        int targetHP = Integer.MAX_VALUE;
+        for (int slot = numCharacters; slot < numCombatants; slot++) {
+            if (hp[slot] > 0 && hp[slot] < targetHP) {
+                targetHP = hp[slot];
+                target = slot;
+            }
+        }
+        if (target < 0) {
+            return;
+        }
+        hp[target] -= dealt;
+        targeted[target] = true;
+        if (hp[target] <= 0) {
+            alive--;
+        }
+    }
+
+    /**
+     * Method that makes a monster attack a random conscious character, whose hit points don't go below 0.
+     *
+     * <p>Bosses attack like every other monster, as they always have in the game.
+     *
+     * @param dealt the damage of the attack
+     * @param dice the generator of the dice rolled
+     * @return NONE
+     */
+    private void attackRandomCharacter(int dealt, RandomGenerator dice) {
+        if (conscious == 0) {
+            return;
+        }
+        while (true) {
+            int target = dice.nextInt(numCharacters);
+            if (hp[target] > 0) {
+                hp[target] = Math.max(hp[target] - dealt, 0);
+                targeted[target] = true;
+                if (hp[target] == 0) {
+                    conscious--;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Method that places a combatant in the slot of their combat order, ignoring orders out of range.
+     *
+     * @param order the combat order of the combatant
+     * @param slot the slot of the combatant
+     * @return NONE
+     */
+    private void setOrder(int order, int slot) {
+        if (order >= 0 && order < numCombatants) {
+            slotByOrder[order] = slot;
+        }
+    }
+
+    /**
+     * Method that grows the arrays if they can't hold every combatant of the encounter being loaded.
+     *
+     * @return NONE
+     */
+    private void ensureCapacity() {
+        if (characters.length < numCharacters) {
+            characters = new Character[numCharacters];
+        }
+        if (monsters.length < numCombatants - numCharacters) {
+            monsters = new Monster[numCombatants - numCharacters];
+        }
+        if (hp.length < numCombatants) {
+            hp = new int[numCombatants];
+            attackBonus = new int[numCombatants];
+            damage = new Dice[numCombatants];
+            acts = new boolean[numCombatants];
+            targeted = new boolean[numCombatants];
+            slotByOrder = new int[numCombatants];
+        }
+    }
+}
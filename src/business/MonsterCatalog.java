@@ -0,0 +1,148 @@
+package business;
+
+import business.entities.MonsterTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Class that holds an immutable snapshot of the monster catalog, indexed for the lookups the business layer needs.
+ *
+ * <p>Monsters can be looked up by name, by challenge tier and by experience range without going through all of them.
+ * The catalog never changes once built, so it can be shared by any number of threads without locking; when the
+ * monsters file changes, a new catalog is built instead.
+ *
+ * <p>The catalog only indexes the monsters it's given, so building it from the cached monsters doesn't copy them.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public final class MonsterCatalog {
+
+    // Every monster, in file order
+    private final List<MonsterTemplate> monsters;
+    // Monsters indexed by name
+    private final Map<String, MonsterTemplate> byName;
+    // Monsters of each challenge tier, in file order, with the tiers sorted by name
+    private final Map<String, List<MonsterTemplate>> byChallenge;
+    // Monsters sorted by experience, and their experience in the same order to binary search it
+    private final MonsterTemplate[] byExperience;
+    private final int[] experiences;
+
+    /**
+     * Parametrized constructor to build a catalog with some monsters.
+     *
+     * @param monsters the monsters, in the order they have to be listed
+     */
+    public MonsterCatalog(Collection<MonsterTemplate> monsters) {
+        ArrayList<MonsterTemplate> all = new ArrayList<>(monsters.size());
+        HashMap<String, MonsterTemplate> names = new HashMap<>();
+        TreeMap<String, List<MonsterTemplate>> challenges = new TreeMap<>();
+        for (MonsterTemplate monster : monsters) {
+            all.add(monster);
+            names.putIfAbsent(monster.getName(), monster);
+            challenges.computeIfAbsent(monster.getChallenge(), challenge -> new ArrayList<>()).add(monster);
+        }
+        challenges.replaceAll((challenge, tier) -> Collections.unmodifiableList(tier));
+
+        this.monsters = Collections.unmodifiableList(all);
+        this.byName = names;
+        this.byChallenge = Collections.unmodifiableMap(challenges);
+        this.byExperience = all.toArray(new MonsterTemplate[0]);
+        Arrays.sort(byExperience, Comparator.comparingInt(MonsterTemplate::getExperience));
+        this.experiences = new int[byExperience.length];
+        for (int i = 0; i < byExperience.length; i++) {
+            experiences[i] = byExperience[i].getExperience();
+        }
+    }
+
+    /**
+     * Method that gets every monster in the catalog.
+     *
+     * @return an unmodifiable list with the monsters, in file order
+     */
+    public List<MonsterTemplate> getAll() {
+        return monsters;
+    }
+
+    /**
+     * Method that gets the number of monsters in the catalog.
+     *
+     * @return the number of monsters
+     */
+    public int size() {
+        return monsters.size();
+    }
+
+    /**
+     * Method that looks a monster up by name.
+     *
+     * @param name a string representation of the monster's name
+     * @return the monster, or null if there isn't a monster with that name
+     */
+    public MonsterTemplate getByName(String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * Method that gets the monsters of a challenge tier.
+     *
+     * @param challenge a string representation of the tier (Minion, Lieutenant or Boss)
+     * @return an unmodifiable list with the monsters of the tier in file order, which is empty if there are none
+     */
+    public List<MonsterTemplate> getByChallenge(String challenge) {
+        return byChallenge.getOrDefault(challenge, Collections.emptyList());
+    }
+
+    /**
+     * Method that gets the challenge tiers that have any monster.
+     *
+     * @return the tiers, sorted by name
+     */
+    public List<String> getChallenges() {
+        return new ArrayList<>(byChallenge.keySet());
+    }
+
+    /**
+     * Method that gets the monsters whose experience is within a range.
+     *
+     * @param min the minimum experience, inclusive
+     * @param max the maximum experience, inclusive
+     * @return a list with the monsters sorted by experience, which is empty if there are none
+     */
+    public List<MonsterTemplate> getByExperience(int min, int max) {
+        if (min > max) {
+            return Collections.emptyList();
+        }
+        int from = firstWithExperience(min);
+        int to = max == Integer.MAX_VALUE ? experiences.length : firstWithExperience(max + 1);
+        return Collections.unmodifiableList(Arrays.asList(byExperience).subList(from, to));
+    }
+
+    /**
+     * Method that finds the position of the first monster with at least some experience in the sorted index.
+     *
+     * @param experience the experience
+     * @return the position, which is the number of monsters if all of them have less experience
+     */
+    private int firstWithExperience(int experience) {
+        int low = 0;
+        int high = experiences.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (experiences[middle] < experience) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
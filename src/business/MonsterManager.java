@@ -1,21 +1,41 @@
 package business;
 
-import business.entities.Character;
-import business.entities.Monster;
-import persistence.exceptions.MonsterFileNotFoundException;
+import business.entities.MonsterTemplate;
 import persistence.exceptions.PersistenceException;
-import persistence.json.monster.MonsterDAO;
-import persistence.json.monster.MonsterJsonDAO;
+import persistence.json.monster.CachedMonsterDAO;
 
 import java.io.IOException;
 import java.util.ArrayList;
 
 public class MonsterManager {
 
-    private final MonsterDAO dao;
+    // Monsters read from the file, shared with the rest of the business layer
+    private final CachedMonsterDAO dao;
+    // Catalog with the monsters read from the file, or null if they couldn't be read yet
+    private MonsterCatalog catalog;
 
-    public MonsterManager () throws MonsterFileNotFoundException {
-        dao = new MonsterJsonDAO("data/monsters.json");
+    /**
+     * Parametrized constructor, which builds the monster catalog once from the shared cached monsters, and builds it
+     * again whenever they are reloaded.
+     *
+     * @param dao the cached Data Access Object for monsters, shared with the other managers
+     */
+    public MonsterManager (CachedMonsterDAO dao) {
+        this.dao = dao;
+        dao.addInvalidationListener(this::loadCatalog);
+        loadCatalog();
+    }
+
+    /**
+     * Method that gets the monster catalog, loading it if it couldn't be loaded before.
+     *
+     * @return the catalog, or null if the monsters can't be read
+     */
+    public synchronized MonsterCatalog getCatalog() {
+        if (catalog == null) {
+            loadCatalog();
+        }
+        return catalog;
     }
 
     /**
@@ -23,16 +43,23 @@ public class MonsterManager {
      *
      * @return an array list containing object representations of all monsters
      */
-    public ArrayList<Monster> findMonsters() {
-        try {
-            ArrayList<Monster> monsters;
-
-            monsters = dao.getAll();
-
-            return monsters;
-        } catch (IOException | PersistenceException ignored) {
-            return new ArrayList<Monster>();
+    public ArrayList<MonsterTemplate> findMonsters() {
+        MonsterCatalog monsters = getCatalog();
+        if (monsters == null) {
+            return new ArrayList<MonsterTemplate>();
         }
+        return new ArrayList<>(monsters.getAll());
     }
 
+    /**
+     * Method that reads the monsters and replaces the catalog with them, keeping the previous one if they can't be
+     * read (for example, while the file is being edited by hand).
+     */
+    private synchronized void loadCatalog() {
+        try {
+            catalog = new MonsterCatalog(dao.getAll());
+        } catch (IOException | PersistenceException | RuntimeException ignored) {
+            // The previous catalog is still used (a half-written file or a malformed monster fails while parsing)
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package business;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * Class that creates the random generators every dice roll of the application goes through.
+ *
+ * <p>By default, every generator gets an unpredictable seed. If the {@value #SEED_PROPERTY} system property is set
+ * (for example, {@code -Ddice.seed=42}), every generator is split in turn from a single generator seeded with it, so
+ * that running the application again in the same way rolls the same dice.
+ *
+ * <p>The generators aren't thread-safe: each thread, simulation or batch of playthroughs should have its own, split
+ * from another one with {@link SplittableGenerator#split()} when results have to be reproducible.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public final class RandomSource {
+
+    // System property with the global seed of the dice
+    public static final String SEED_PROPERTY = "dice.seed";
+
+    // Generator every generator is split from when there's a global seed, or null if there isn't one
+    private static final SplittableGenerator ROOT = createRoot();
+
+    /**
+     * Private constructor, as the class only holds static methods.
+     */
+    private RandomSource() {
+    }
+
+    /**
+     * Method that creates a new random generator, split from the global seed if there's one.
+     *
+     * @return the new generator, to be used by a single thread
+     */
+    public static SplittableGenerator newGenerator() {
+        if (ROOT == null) {
+            return new SplittableRandom();
+        }
+        synchronized (ROOT) {
+            return ROOT.split();
+        }
+    }
+
+    /**
+     * Method that creates a new random generator that always rolls the same dice for the same seed.
+     *
+     * @param seed the seed of the generator
+     * @return the new generator, to be used by a single thread
+     */
+    public static SplittableGenerator newGenerator(long seed) {
+        return new SplittableRandom(seed);
+    }
+
+    /**
+     * Method that creates the generator of the global seed, which can be a number or any other text.
+     *
+     * @return the generator, or null if the global seed isn't set
+     */
+    private static SplittableGenerator createRoot() {
+        String seed = System.getProperty(SEED_PROPERTY);
+        if (seed == null || seed.isBlank()) {
+            return null;
+        }
+        try {
+            return new SplittableRandom(Long.parseLong(seed.trim()));
+        } catch (NumberFormatException e) {
+            return new SplittableRandom(seed.trim().hashCode());
+        }
+    }
+}
@@ -12,6 +12,14 @@ public class Adventure {
         this.encounters = encounters;
     }
 
+    public Adventure(Adventure adventure) {
+        this.name = adventure.name;
+        this.encounters = new ArrayList<>();
+        for (Encounter encounter : adventure.encounters) {
+            this.encounters.add(new Encounter(encounter));
+        }
+    }
+
     public String getName() {
         return name;
     }
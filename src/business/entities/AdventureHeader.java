@@ -0,0 +1,38 @@
+package business.entities;
+
+public class AdventureHeader {
+
+    private final String name;
+    private final int encounters;
+    private final int experience;
+
+    public AdventureHeader(String name, int encounters, int experience) {
+        this.name = name;
+        this.encounters = encounters;
+        this.experience = experience;
+    }
+
+    public AdventureHeader(Adventure adventure) {
+        int experience = 0;
+        for (Encounter encounter : adventure.getEncounters()) {
+            for (Monster monster : encounter.getMonsters()) {
+                experience += monster.getExperience();
+            }
+        }
+        this.name = adventure.getName();
+        this.encounters = adventure.getEncounters().size();
+        this.experience = experience;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getEncounters() {
+        return encounters;
+    }
+
+    public int getExperience() {
+        return experience;
+    }
+}
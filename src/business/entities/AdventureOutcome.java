@@ -0,0 +1,30 @@
+package business.entities;
+
+public class AdventureOutcome {
+
+    private final boolean victory;
+    private final int encountersCleared;
+    private final int[] roundsPerEncounter;
+
+    public AdventureOutcome(boolean victory, int encountersCleared, int[] roundsPerEncounter) {
+        this.victory = victory;
+        this.encountersCleared = encountersCleared;
+        this.roundsPerEncounter = roundsPerEncounter;
+    }
+
+    public boolean isVictory() {
+        return victory;
+    }
+
+    public int getEncountersCleared() {
+        return encountersCleared;
+    }
+
+    public int getRounds(int encounter) {
+        return roundsPerEncounter[encounter];
+    }
+
+    public int getEncountersPlayed() {
+        return roundsPerEncounter.length;
+    }
+}
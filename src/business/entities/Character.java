@@ -42,6 +42,15 @@ public class Character {
         this.targeted = false;
     }
 
+    /**
+     * Copy constructor, which only copies the persisted information of another character.
+     *
+     * @param character the character to copy
+     */
+    public Character(Character character) {
+        this(character.name, character.player, character.xp, character.body, character.mind, character.spirit, character.class_);
+    }
+
     public String getName() {
         return name;
     }
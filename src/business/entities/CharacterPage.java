@@ -0,0 +1,30 @@
+package business.entities;
+
+public class CharacterPage {
+
+    private final String[] names;
+    private final int number;
+    private final boolean hasNext;
+
+    public CharacterPage(String[] names, int number, boolean hasNext) {
+        this.names = names;
+        this.number = number;
+        this.hasNext = hasNext;
+    }
+
+    public String[] getNames() {
+        return names;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public boolean hasPrevious() {
+        return number > 0;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+}
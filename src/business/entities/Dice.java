@@ -0,0 +1,300 @@
+package business.entities;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Class that represents a dice expression, such as {@code d20}, {@code 2d6+1}, {@code 4d6kh3} or {@code 3d6!-2}, parsed
+ * once so that it can be rolled any number of times without parsing it again.
+ *
+ * <p>An expression has the form {@code [N]dM[!][kh|kl|dh|dl X][+|-K]}:
+ * <ul>
+ *     <li>{@code N} dice (1 if omitted) of {@code M} sides are rolled.</li>
+ *     <li>With {@code !}, a die that rolls its highest value is rolled again and added (exploding dice).</li>
+ *     <li>{@code khX} / {@code klX} keep only the highest / lowest {@code X} dice, and {@code dhX} / {@code dlX} drop the
+ *     highest / lowest {@code X} dice ({@code kX} is short for {@code khX}).</li>
+ *     <li>{@code K} is added to (or subtracted from) the total.</li>
+ * </ul>
+ *
+ * <p>Dice are immutable and can be shared between threads. Rolling doesn't allocate any object: the random numbers come
+ * from the generator given by the caller, and keeping or dropping dice uses a buffer reused by each thread.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public final class Dice {
+
+    // Maximum number of dice in an expression
+    private static final int MAX_COUNT = 1000;
+    // Maximum number of times a single die can explode, so that a roll always ends
+    private static final int MAX_EXPLOSIONS = 100;
+    // Syntax of an expression
+    private static final Pattern EXPRESSION = Pattern.compile("(\\d*)d(\\d+)(!?)(?:(kh|kl|k|dh|dl)(\\d+))?([+-]\\d+)?");
+    // Buffer where each thread keeps the dice of a roll while choosing which ones to keep
+    private static final ThreadLocal<int[]> ROLLS = ThreadLocal.withInitial(() -> new int[16]);
+
+    // Number of dice rolled
+    private final int count;
+    // Number of sides of each die
+    private final int sides;
+    // Whether a die that rolls its highest value is rolled again and added
+    private final boolean exploding;
+    // Number of lowest dice and highest dice left out of the total
+    private final int dropLowest;
+    private final int dropHighest;
+    // Value added to the total
+    private final int modifier;
+
+    /**
+     * Parametrized constructor to create a dice expression.
+     *
+     * @param count the number of dice rolled
+     * @param sides the number of sides of each die
+     * @param exploding whether a die that rolls its highest value is rolled again and added
+     * @param dropLowest the number of lowest dice left out of the total
+     * @param dropHighest the number of highest dice left out of the total, which must be 0 if any lowest die is dropped
+     * @param modifier the value added to the total
+     * @throws IllegalArgumentException if the numbers don't make a valid expression
+     */
+    public Dice(int count, int sides, boolean exploding, int dropLowest, int dropHighest, int modifier) {
+        if (count < 1 || count > MAX_COUNT) {
+            throw new IllegalArgumentException("The number of dice must be between 1 and " + MAX_COUNT + ".");
+        }
+        if (sides < 1 || (exploding && sides < 2)) {
+            throw new IllegalArgumentException("Dice must have at least " + (exploding ? 2 : 1) + " sides.");
+        }
+        if (dropLowest < 0 || dropHighest < 0 || (dropLowest > 0 && dropHighest > 0)) {
+            throw new IllegalArgumentException("Dice can only drop either the lowest or the highest ones.");
+        }
+        if (dropLowest + dropHighest >= count) {
+            throw new IllegalArgumentException("At least one die must be kept.");
+        }
+        this.count = count;
+        this.sides = sides;
+        this.exploding = exploding;
+        this.dropLowest = dropLowest;
+        this.dropHighest = dropHighest;
+        this.modifier = modifier;
+    }
+
+    /**
+     * Method that creates the expression of a number of plain dice.
+     *
+     * @param count the number of dice rolled
+     * @param sides the number of sides of each die
+     * @return the expression
+     */
+    public static Dice of(int count, int sides) {
+        return new Dice(count, sides, false, 0, 0, 0);
+    }
+
+    /**
+     * Method that parses a dice expression.
+     *
+     * @param expression a string representation of the expression, case and whitespace insensitive
+     * @return the expression
+     * @throws IllegalArgumentException if the expression isn't valid
+     */
+    public static Dice parse(String expression) {
+        if (expression == null) {
+            throw new IllegalArgumentException("Missing dice expression.");
+        }
+        String normalized = expression.replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+        Matcher matcher = EXPRESSION.matcher(normalized);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid dice expression: " + expression + ".");
+        }
+
+        try {
+            int count = matcher.group(1).isEmpty() ? 1 : Integer.parseInt(matcher.group(1));
+            int sides = Integer.parseInt(matcher.group(2));
+            boolean exploding = !matcher.group(3).isEmpty();
+            int dropLowest = 0;
+            int dropHighest = 0;
+            if (matcher.group(4) != null) {
+                int dice = Integer.parseInt(matcher.group(5));
+                if (dice > count) {
+                    throw new IllegalArgumentException("Invalid dice expression: " + expression + " keeps or drops more dice than it rolls.");
+                }
+                switch (matcher.group(4)) {
+                    case "k":
+                    case "kh":
+                        dropLowest = count - dice;
+                        break;
+                    case "kl":
+                        dropHighest = count - dice;
+                        break;
+                    case "dh":
+                        dropHighest = dice;
+                        break;
+                    case "dl":
+                        dropLowest = dice;
+                        break;
+                }
+            }
+            int modifier = matcher.group(6) == null ? 0 : Integer.parseInt(matcher.group(6));
+            return new Dice(count, sides, exploding, dropLowest, dropHighest, modifier);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid dice expression: " + expression + ".", e);
+        }
+    }
+
+    /**
+     * Method that rolls the dice.
+     *
+     * @param random the generator of the random numbers
+     * @return the total of the roll
+     */
+    public int roll(RandomGenerator random) {
+        if (dropLowest == 0 && dropHighest == 0) {
+            int total = modifier;
+            for (int i = 0; i < count; i++) {
+                total += rollDie(random);
+            }
+            return total;
+        }
+
+        int[] rolls = ROLLS.get();
+        if (rolls.length < count) {
+            rolls = new int[Math.max(count, rolls.length * 2)];
+            ROLLS.set(rolls);
+        }
+        for (int i = 0; i < count; i++) {
+            rolls[i] = rollDie(random);
+        }
+        Arrays.sort(rolls, 0, count);
+
+        int total = modifier;
+        for (int i = dropLowest; i < count - dropHighest; i++) {
+            total += rolls[i];
+        }
+        return total;
+    }
+
+    /**
+     * Method that rolls the dice once for each position of an array.
+     *
+     * @param random the generator of the random numbers
+     * @param results the array where the total of each roll is stored
+     */
+    public void roll(RandomGenerator random, int[] results) {
+        for (int i = 0; i < results.length; i++) {
+            results[i] = roll(random);
+        }
+    }
+
+    /**
+     * Method that gets the lowest total the dice can roll.
+     *
+     * @return the lowest total
+     */
+    public int getMin() {
+        return count - dropLowest - dropHighest + modifier;
+    }
+
+    /**
+     * Method that gets the highest total the dice can roll.
+     *
+     * @return the highest total, or {@link Integer#MAX_VALUE} if the dice explode
+     */
+    public int getMax() {
+        return exploding ? Integer.MAX_VALUE : (count - dropLowest - dropHighest) * sides + modifier;
+    }
+
+    /**
+     * Method that gets the number of sides of each die.
+     *
+     * @return the number of sides
+     */
+    public int getSides() {
+        return sides;
+    }
+
+    /**
+     * Method that gets the number of dice rolled.
+     *
+     * @return the number of dice
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Method that gets the value added to the total.
+     *
+     * @return the modifier
+     */
+    public int getModifier() {
+        return modifier;
+    }
+
+    /**
+     * Method that rolls a single die, exploding it if needed.
+     *
+     * @param random the generator of the random numbers
+     * @return the value of the die
+     */
+    private int rollDie(RandomGenerator random) {
+        int value = random.nextInt(sides) + 1;
+        if (!exploding) {
+            return value;
+        }
+        int total = value;
+        for (int i = 0; i < MAX_EXPLOSIONS && value == sides; i++) {
+            value = random.nextInt(sides) + 1;
+            total += value;
+        }
+        return total;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Dice)) {
+            return false;
+        }
+        Dice dice = (Dice) other;
+        return count == dice.count && sides == dice.sides && exploding == dice.exploding
+                && dropLowest == dice.dropLowest && dropHighest == dice.dropHighest && modifier == dice.modifier;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = count;
+        hash = 31 * hash + sides;
+        hash = 31 * hash + (exploding ? 1 : 0);
+        hash = 31 * hash + dropLowest;
+        hash = 31 * hash + dropHighest;
+        return 31 * hash + modifier;
+    }
+
+    /**
+     * Method that gets the expression in its canonical form.
+     *
+     * @return a string representation of the expression, which {@link #parse(String)} reads back
+     */
+    @Override
+    public String toString() {
+        StringBuilder expression = new StringBuilder();
+        expression.append(count).append('d').append(sides);
+        if (exploding) {
+            expression.append('!');
+        }
+        if (dropLowest > 0) {
+            expression.append("dl").append(dropLowest);
+        } else if (dropHighest > 0) {
+            expression.append("dh").append(dropHighest);
+        }
+        if (modifier > 0) {
+            expression.append('+').append(modifier);
+        } else if (modifier < 0) {
+            expression.append(modifier);
+        }
+        return expression.toString();
+    }
+}
@@ -10,6 +10,13 @@ public class Encounter {
         this.monsters = new ArrayList<>();
     }
 
+    public Encounter(Encounter encounter) {
+        this.monsters = new ArrayList<>();
+        for (Monster monster : encounter.monsters) {
+            this.monsters.add(new Monster(monster));
+        }
+    }
+
     public ArrayList<Monster> getMonsters() {
         return monsters;
     }
@@ -25,6 +32,6 @@ public class Encounter {
     }
 
     public int getNumberOfDifferentMonsters() {
-       return (int) monsters.stream().distinct().count();
+       return (int) monsters.stream().map(Monster::getName).distinct().count();
     }
 }
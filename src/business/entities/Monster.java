@@ -2,43 +2,42 @@ package business.entities;
 
 public class Monster {
 
-    private String name;
-    private String challenge;
-    private int experience;
-    private int hitPoints;
-    private transient int currentHp;
+    private final MonsterTemplate template;
+    private int currentHp;
     private int initiative;
-    private String damageDice;
-    private String damageType;
-    private transient int combatOrder;
-    private transient boolean targeted;
-
-
-    public Monster(String name, String challenge, int experience, int hitPoints, int initiative, String damageDice, String damageType) {
-        this.name = name;
-        this.challenge = challenge;
-        this.experience = experience;
-        this.hitPoints = hitPoints;
-        this.initiative = initiative;
-        this.damageDice = damageDice;
-        this.damageType = damageType;
+    private int combatOrder;
+    private boolean targeted;
+
+
+    public Monster(MonsterTemplate template) {
+        this.template = template;
+        this.currentHp = template.getHitPoints();
+        this.initiative = template.getInitiative();
         this.targeted = false;
     }
 
+    public Monster(Monster monster) {
+        this(monster.template);
+    }
+
+    public MonsterTemplate getTemplate() {
+        return template;
+    }
+
     public String getName() {
-        return name;
+        return template.getName();
     }
 
     public String getChallenge() {
-        return challenge;
+        return template.getChallenge();
     }
 
     public int getExperience() {
-        return experience;
+        return template.getExperience();
     }
 
     public int getHitPoints() {
-        return hitPoints;
+        return template.getHitPoints();
     }
 
 
@@ -46,12 +45,12 @@ public class Monster {
         return initiative;
     }
 
-    public int getDamageDice() {
-        return Integer.parseInt(damageDice.replaceAll("[^0-9]", ""));
+    public Dice getDamage() {
+        return template.getDamage();
     }
 
     public String getDamageType() {
-        return damageType;
+        return template.getDamageType();
     }
 
     public void setInitiative(int num) {
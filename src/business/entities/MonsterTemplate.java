@@ -0,0 +1,64 @@
+package business.entities;
+
+public final class MonsterTemplate {
+
+    private final String name;
+    private final String challenge;
+    private final int experience;
+    private final int hitPoints;
+    private final int initiative;
+    private final String damageDice;
+    private final String damageType;
+    private final transient Dice damage;
+
+    public MonsterTemplate(String name, String challenge, int experience, int hitPoints, int initiative, String damageDice, String damageType) {
+        this.name = name;
+        this.challenge = challenge;
+        this.experience = experience;
+        this.hitPoints = hitPoints;
+        this.initiative = initiative;
+        this.damageDice = damageDice;
+        this.damageType = damageType;
+        this.damage = Dice.parse(damageDice);
+    }
+
+    public MonsterTemplate intern() {
+        return new MonsterTemplate(intern(name), intern(challenge), experience, hitPoints, initiative, intern(damageDice), intern(damageType));
+    }
+
+    private static String intern(String value) {
+        return value == null ? null : value.intern();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getChallenge() {
+        return challenge;
+    }
+
+    public int getExperience() {
+        return experience;
+    }
+
+    public int getHitPoints() {
+        return hitPoints;
+    }
+
+    public int getInitiative() {
+        return initiative;
+    }
+
+    public String getDamageDice() {
+        return damageDice;
+    }
+
+    public Dice getDamage() {
+        return damage;
+    }
+
+    public String getDamageType() {
+        return damageType;
+    }
+}
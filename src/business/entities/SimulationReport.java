@@ -0,0 +1,61 @@
+package business.entities;
+
+import java.util.LinkedHashMap;
+
+public class SimulationReport {
+
+    private final long runs;
+    private final long wins;
+    private final double confidence;
+    private final double lowerBound;
+    private final double upperBound;
+    private final long[][] roundsHistogram;
+    private final LinkedHashMap<String, Double> knockoutRates;
+
+    public SimulationReport(long runs, long wins, double confidence, double lowerBound, double upperBound,
+                            long[][] roundsHistogram, LinkedHashMap<String, Double> knockoutRates) {
+        this.runs = runs;
+        this.wins = wins;
+        this.confidence = confidence;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.roundsHistogram = roundsHistogram;
+        this.knockoutRates = knockoutRates;
+    }
+
+    public long getRuns() {
+        return runs;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public double getWinProbability() {
+        return runs == 0 ? 0 : (double) wins / runs;
+    }
+
+    public double getConfidence() {
+        return confidence;
+    }
+
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    public int getEncounters() {
+        return roundsHistogram.length;
+    }
+
+    public long[] getRoundsHistogram(int encounter) {
+        return roundsHistogram[encounter].clone();
+    }
+
+    public LinkedHashMap<String, Double> getKnockoutRates() {
+        return new LinkedHashMap<>(knockoutRates);
+    }
+}
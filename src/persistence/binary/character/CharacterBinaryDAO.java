@@ -0,0 +1,555 @@
+package persistence.binary.character;
+
+import business.entities.Character;
+import persistence.exceptions.PersistenceException;
+import persistence.json.character.CharacterDAO;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Class that implements the methods described in the {@link CharacterDAO} interface, persisting characters as
+ * fixed-width binary records in a memory-mapped file.
+ *
+ * <p>Every record holds the numeric information of a character inline, together with the offsets of its name and
+ * player in a second memory-mapped file (the string heap). Reading a character doesn't need any parsing, and updating
+ * it rewrites its record in place, so updated characters keep their position. Deleted records are only marked as
+ * such; converting the file again reclaims their space.
+ *
+ * <p>A character is checked before any byte of its record changes, and a replaced record is only marked as deleted once
+ * the new one is complete, so a write that fails never loses the character that was stored.
+ *
+ * <p>Records file layout (big endian):
+ * <pre>
+ * header: magic (int) | version (int) | record count (int) | reserved (int)
+ * record: live (byte) | class code (byte) | reserved (short) | xp | body | mind | spirit
+ *         | name offset | name length | player offset | player length (ints)
+ * </pre>
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class CharacterBinaryDAO implements CharacterDAO {
+
+    // Magic numbers at the start of the records file and the string heap
+    private static final int RECORDS_MAGIC = 0x4C535243;
+    private static final int HEAP_MAGIC = 0x4C535248;
+    private static final int VERSION = 1;
+
+    // Sizes (in bytes) of the headers and the records
+    private static final int RECORDS_HEADER = 16;
+    private static final int HEAP_HEADER = 8;
+    private static final int RECORD_SIZE = 36;
+
+    // Offsets of the fields inside a record
+    private static final int LIVE = 0;
+    private static final int CLASS = 1;
+    private static final int XP = 4;
+    private static final int BODY = 8;
+    private static final int MIND = 12;
+    private static final int SPIRIT = 16;
+    private static final int NAME_OFFSET = 20;
+    private static final int NAME_LENGTH = 24;
+    private static final int PLAYER_OFFSET = 28;
+    private static final int PLAYER_LENGTH = 32;
+
+    // Number of records the file has room for when it's created
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Classes a character can have, whose index is the code stored in the records
+    private static final String[] CLASSES = {"Adventurer", "Warrior", "Champion", "Cleric", "Wizard", "Paladin"};
+
+    // Channels of the records file and the string heap
+    private final FileChannel recordsChannel;
+    private final FileChannel heapChannel;
+    // Mapped contents of the records file and the string heap
+    private MappedByteBuffer records;
+    private MappedByteBuffer heap;
+    // Number of records used (including deleted ones)
+    private int count;
+    // Number of bytes of the string heap in use (including its header)
+    private int heapUsed;
+    // Slots of the live records indexed by character name
+    private final HashMap<String, Integer> slots;
+
+    /**
+     * Parametrized constructor to persist characters in a records file and a string heap.
+     *
+     * @param recordsPath a string representation of the path of the records file (which is created if it doesn't exist)
+     * @param heapPath a string representation of the path of the string heap (which is created if it doesn't exist)
+     * @throws PersistenceException if something goes wrong when opening/creating the files, or they aren't valid
+     */
+    public CharacterBinaryDAO(String recordsPath, String heapPath) throws PersistenceException {
+        try {
+            Path recordsFile = Paths.get(recordsPath);
+            Path heapFile = Paths.get(heapPath);
+            boolean hasRecords = Files.exists(recordsFile) && Files.size(recordsFile) > 0;
+            boolean hasHeap = Files.exists(heapFile) && Files.size(heapFile) > 0;
+            if (hasRecords != hasHeap) {
+                throw new IOException("Not a character records file: " + recordsPath + " (missing string heap or records).");
+            }
+            boolean created = !hasRecords;
+
+            recordsChannel = FileChannel.open(recordsFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            heapChannel = FileChannel.open(heapFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+
+            if (created) {
+                records = recordsChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                        RECORDS_HEADER + (long) INITIAL_CAPACITY * RECORD_SIZE);
+                records.putInt(0, RECORDS_MAGIC);
+                records.putInt(4, VERSION);
+                records.putInt(8, 0);
+                heap = heapChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEAP_HEADER + INITIAL_CAPACITY * 64L);
+                heap.putInt(0, HEAP_MAGIC);
+                heap.putInt(4, HEAP_HEADER);
+            } else {
+                records = recordsChannel.map(FileChannel.MapMode.READ_WRITE, 0, recordsChannel.size());
+                heap = heapChannel.map(FileChannel.MapMode.READ_WRITE, 0, heapChannel.size());
+                if (records.capacity() < RECORDS_HEADER || heap.capacity() < HEAP_HEADER
+                        || records.getInt(0) != RECORDS_MAGIC || records.getInt(4) != VERSION || heap.getInt(0) != HEAP_MAGIC
+                        || records.getInt(8) < 0 || RECORDS_HEADER + (long) records.getInt(8) * RECORD_SIZE > records.capacity()
+                        || heap.getInt(4) < HEAP_HEADER || heap.getInt(4) > heap.capacity()) {
+                    throw new IOException("Not a character records file: " + recordsPath + ".");
+                }
+            }
+            count = records.getInt(8);
+            heapUsed = heap.getInt(4);
+
+            slots = new HashMap<>();
+            for (int slot = 0; slot < count; slot++) {
+                if (records.get(position(slot) + LIVE) == 1) {
+                    classOf(slot);
+                    slots.put(readName(slot), slot);
+                }
+            }
+        } catch (InvalidPathException | IOException e) {
+            throw new PersistenceException("Couldn't create a Character DAO (binary implementation) with path: " + recordsPath + ".", e);
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException e) {
+            // A record points outside of the string heap
+            throw new PersistenceException("Couldn't create a Character DAO (binary implementation) with path: " + recordsPath + ".",
+                    new IOException("Not a character records file: " + recordsPath + ".", e));
+        }
+    }
+
+    /**
+     * Method that converts the characters persisted by another DAO (usually the JSON one) to the binary format.
+     *
+     * @param source the Data Access Object to read the characters from
+     * @param recordsPath a string representation of the path of the records file, which is replaced
+     * @param heapPath a string representation of the path of the string heap, which is replaced
+     * @return a binary Data Access Object for the converted characters
+     * @throws PersistenceException if something goes wrong when reading or writing the characters
+     */
+    public static CharacterBinaryDAO convert(CharacterDAO source, String recordsPath, String heapPath) throws PersistenceException {
+        try {
+            Files.deleteIfExists(Paths.get(recordsPath));
+            Files.deleteIfExists(Paths.get(heapPath));
+            CharacterBinaryDAO dao = new CharacterBinaryDAO(recordsPath, heapPath);
+            for (Character character : source.getAll()) {
+                dao.append(character);
+            }
+            dao.force();
+            return dao;
+        } catch (InvalidPathException | IOException e) {
+            throw new PersistenceException("Couldn't convert the characters to the binary format.", e);
+        }
+    }
+
+    /**
+     * Method that writes every change to the files and closes them.
+     *
+     * @throws PersistenceException if something goes wrong when closing the files
+     */
+    public synchronized void close() throws PersistenceException {
+        try {
+            force();
+            recordsChannel.close();
+            heapChannel.close();
+        } catch (IOException e) {
+            throw new PersistenceException("Couldn't close the Character files (binary implementation).", e);
+        }
+    }
+
+    /**
+     * Method that reads the persisted information of all characters.
+     *
+     * @throws IOException if a record is corrupt
+     */
+    @Override
+    public synchronized ArrayList<Character> getAll() throws IOException {
+        ArrayList<Character> all = new ArrayList<>(slots.size());
+        for (int slot = 0; slot < count; slot++) {
+            if (isLive(slot)) {
+                all.add(read(slot));
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Method that saves a specific character, persisting its information.
+     *
+     * @param character the character to save
+     * @throws PersistenceException if something goes wrong when persisting (writing to the file)
+     */
+    @Override
+    public synchronized void save(Character character) throws PersistenceException {
+        try {
+            append(character);
+            force();
+        } catch (IOException e) {
+            throw new PersistenceException("Couldn't save a Character (binary implementation).", e);
+        }
+    }
+
+    /**
+     * Method that reads the persisted information of a set of characters, specifically those that are owned by a specific player.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @throws IOException if a record is corrupt
+     */
+    @Override
+    public synchronized ArrayList<Character> getByPlayerName(String playerName) throws IOException {
+        ArrayList<Character> filtered = new ArrayList<>();
+        String query = playerName.toLowerCase();
+        for (int slot = 0; slot < count; slot++) {
+            if (isLive(slot) && readPlayer(slot).toLowerCase().contains(query)) {
+                filtered.add(read(slot));
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Method that reads a page of the characters owned by a specific player, stopping at the end of the page.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of characters to return
+     * @throws IOException if a record is corrupt
+     */
+    @Override
+    public synchronized ArrayList<Character> getPageByPlayerName(String playerName, int offset, int limit) throws IOException {
+        ArrayList<Character> page = new ArrayList<>();
+        String query = playerName.toLowerCase();
+        int skipped = 0;
+        for (int slot = 0; slot < count && page.size() < limit; slot++) {
+            if (isLive(slot) && readPlayer(slot).toLowerCase().contains(query)) {
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    page.add(read(slot));
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Method that reads the names of a page of the characters owned by a specific player, reading only the name and
+     * player of every record.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of names to return
+     */
+    @Override
+    public synchronized ArrayList<String> getNamesByPlayerName(String playerName, int offset, int limit) {
+        ArrayList<String> names = new ArrayList<>();
+        String query = playerName.toLowerCase();
+        int skipped = 0;
+        for (int slot = 0; slot < count && names.size() < limit; slot++) {
+            if (isLive(slot) && readPlayer(slot).toLowerCase().contains(query)) {
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    names.add(readName(slot));
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Method that deletes a specific character, removing its information.
+     *
+     * @param character the character to delete
+     */
+    @Override
+    public synchronized void delete(Character character) {
+        Integer slot = slots.remove(character.getName());
+        if (slot != null) {
+            records.put(position(slot) + LIVE, (byte) 0);
+            force();
+        }
+    }
+
+    /**
+     * Method that reads the persisted information of a specific character, specifically the one with a specific name.
+     *
+     * @param name a string representation of the name to use in the query
+     * @throws IOException if the record is corrupt
+     */
+    @Override
+    public synchronized Character getByCharacterName(String name) throws IOException {
+        Integer slot = slots.get(name);
+        return slot == null ? null : read(slot);
+    }
+
+    /**
+     * Method that reads the persisted information of several characters, specifically the ones with the given names.
+     *
+     * @param names string representations of the names to use in the query
+     * @throws IOException if a record is corrupt
+     */
+    @Override
+    public synchronized ArrayList<Character> getByCharacterNames(String[] names) throws IOException {
+        ArrayList<Character> characters = new ArrayList<>(names.length);
+        for (String name : names) {
+            characters.add(getByCharacterName(name));
+        }
+        return characters;
+    }
+
+    /**
+     * Method that updates a specific character, rewriting its record in place.
+     *
+     * @param character the character to update
+     * @throws PersistenceException if something goes wrong when persisting (writing to the file)
+     */
+    @Override
+    public synchronized void update(Character character) throws PersistenceException {
+        try {
+            rewrite(character);
+            force();
+        } catch (IOException e) {
+            throw new PersistenceException("Couldn't update a Character (binary implementation).", e);
+        }
+    }
+
+    /**
+     * Method that updates several characters at once, rewriting their records in place.
+     *
+     * @param characters the characters to update
+     * @throws PersistenceException if something goes wrong when persisting (writing to the file)
+     */
+    @Override
+    public synchronized void updateAll(ArrayList<Character> characters) throws PersistenceException {
+        try {
+            for (Character character : characters) {
+                rewrite(character);
+            }
+            force();
+        } catch (IOException e) {
+            throw new PersistenceException("Couldn't update the Characters (binary implementation).", e);
+        }
+    }
+
+    /**
+     * Method that rewrites the record of a character, or appends one if it doesn't exist yet.
+     *
+     * @param character the character to write
+     * @throws IOException if something goes wrong when writing the files
+     */
+    private void rewrite(Character character) throws IOException {
+        Integer slot = slots.get(character.getName());
+        if (slot == null) {
+            append(character);
+            return;
+        }
+
+        // Checked before anything is written, so an unknown class leaves the record as it was
+        byte code = classCode(character.getClass_());
+        int position = position(slot);
+        if (!readPlayer(slot).equals(character.getPlayer())) {
+            writeString(position + PLAYER_OFFSET, character.getPlayer());
+        }
+        writeNumbers(position, code, character);
+    }
+
+    /**
+     * Method that appends a record for a character, replacing the live record with the same name if there is one.
+     *
+     * <p>The replaced record is only marked as deleted after the new one has been written and counted.
+     *
+     * @param character the character to append
+     * @throws IOException if something goes wrong when writing the files
+     */
+    private void append(Character character) throws IOException {
+        byte code = classCode(character.getClass_());
+        Integer previous = slots.get(character.getName());
+
+        if (position(count + 1) > records.capacity()) {
+            records.force();
+            records = recordsChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    RECORDS_HEADER + (long) Math.max(count * 2, INITIAL_CAPACITY) * RECORD_SIZE);
+        }
+
+        int position = position(count);
+        writeString(position + NAME_OFFSET, character.getName());
+        writeString(position + PLAYER_OFFSET, character.getPlayer());
+        writeNumbers(position, code, character);
+        records.put(position + LIVE, (byte) 1);
+
+        slots.put(character.getName(), count);
+        count++;
+        records.putInt(8, count);
+
+        if (previous != null) {
+            records.put(position(previous) + LIVE, (byte) 0);
+        }
+    }
+
+    /**
+     * Method that writes the numeric information of a character in its record.
+     *
+     * @param position the position of the record in the records file
+     * @param code the code of the character's class
+     * @param character the character to write
+     */
+    private void writeNumbers(int position, byte code, Character character) {
+        records.put(position + CLASS, code);
+        records.putInt(position + XP, character.getXp());
+        records.putInt(position + BODY, character.getBody());
+        records.putInt(position + MIND, character.getMind());
+        records.putInt(position + SPIRIT, character.getSpirit());
+    }
+
+    /**
+     * Method that appends a string to the string heap and stores its offset and length in a record.
+     *
+     * @param field the position in the records file where the offset is stored, followed by the length
+     * @param value the string to write
+     * @throws IOException if something goes wrong when growing the string heap
+     */
+    private void writeString(int field, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (heapUsed + bytes.length > heap.capacity()) {
+            heap.force();
+            heap = heapChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    Math.max(heap.capacity() * 2L, heapUsed + bytes.length));
+        }
+
+        heap.put(heapUsed, bytes);
+        records.putInt(field, heapUsed);
+        records.putInt(field + 4, bytes.length);
+        heapUsed += bytes.length;
+        heap.putInt(4, heapUsed);
+    }
+
+    /**
+     * Method that builds a character from its record.
+     *
+     * @param slot the slot of the record
+     * @return an object representation of the character
+     * @throws IOException if the record's class code isn't known
+     */
+    private Character read(int slot) throws IOException {
+        int position = position(slot);
+        return new Character(readName(slot), readPlayer(slot), records.getInt(position + XP),
+                records.getInt(position + BODY), records.getInt(position + MIND), records.getInt(position + SPIRIT),
+                classOf(slot));
+    }
+
+    /**
+     * Method that reads the class stored in a record.
+     *
+     * @param slot the slot of the record
+     * @return a string representation of the character's class
+     * @throws IOException if the record's class code isn't known
+     */
+    private String classOf(int slot) throws IOException {
+        byte code = records.get(position(slot) + CLASS);
+        if (code < 0 || code >= CLASSES.length) {
+            throw new IOException("Corrupt character record " + slot + ": unknown class code " + code + ".");
+        }
+        return CLASSES[code];
+    }
+
+    /**
+     * Method that reads the name stored in a record.
+     *
+     * @param slot the slot of the record
+     * @return a string representation of the character's name
+     */
+    private String readName(int slot) {
+        return readString(position(slot) + NAME_OFFSET);
+    }
+
+    /**
+     * Method that reads the player stored in a record.
+     *
+     * @param slot the slot of the record
+     * @return a string representation of the character's player
+     */
+    private String readPlayer(int slot) {
+        return readString(position(slot) + PLAYER_OFFSET);
+    }
+
+    /**
+     * Method that reads a string from the string heap.
+     *
+     * @param field the position in the records file where its offset is stored, followed by its length
+     * @return the string
+     */
+    private String readString(int field) {
+        byte[] bytes = new byte[records.getInt(field + 4)];
+        heap.get(records.getInt(field), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method that checks whether a record belongs to a character that hasn't been deleted.
+     *
+     * @param slot the slot of the record
+     * @return whether the record is live or not
+     */
+    private boolean isLive(int slot) {
+        return records.get(position(slot) + LIVE) == 1;
+    }
+
+    /**
+     * Method that gets the position of a record in the records file.
+     *
+     * @param slot the slot of the record
+     * @return the position of its first byte
+     */
+    private static int position(int slot) {
+        return RECORDS_HEADER + slot * RECORD_SIZE;
+    }
+
+    /**
+     * Method that translates a class into the code stored in the records.
+     *
+     * @param class_ a string representation of the class
+     * @return the code of the class
+     * @throws IOException if the class isn't known
+     */
+    private static byte classCode(String class_) throws IOException {
+        for (byte code = 0; code < CLASSES.length; code++) {
+            if (CLASSES[code].equals(class_)) {
+                return code;
+            }
+        }
+        throw new IOException("Unknown character class: " + class_ + ".");
+    }
+
+    /**
+     * Method that makes sure every change is written to the files.
+     */
+    private void force() {
+        heap.force();
+        records.force();
+    }
+}
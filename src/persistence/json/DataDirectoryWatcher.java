@@ -0,0 +1,181 @@
+package persistence.json;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Class that watches a data directory in the background and tells its subscribers when one of their files changes,
+ * whether it's been changed by this application, another process or someone editing it by hand.
+ *
+ * <p>A single daemon thread per directory waits on a {@link WatchService}. Editors and atomic replacements usually
+ * produce several events for a single change, so the events that arrive within a few milliseconds of each other are
+ * grouped and every subscriber of a changed file is told once. If the operating system drops events, every subscriber
+ * of the directory is told, as any of their files may have changed.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public final class DataDirectoryWatcher {
+
+    // Milliseconds to wait for more events of the same change before telling the subscribers
+    private static final long SETTLE_MILLIS = 50;
+    // Watchers of every directory in use, indexed by their absolute path
+    private static final ConcurrentHashMap<Path, DataDirectoryWatcher> WATCHERS = new ConcurrentHashMap<>();
+
+    // Directory being watched
+    private final Path directory;
+    // Service that receives the events of the directory
+    private final WatchService service;
+    // Subscribers of each file, indexed by the file's name
+    private final ConcurrentHashMap<Path, CopyOnWriteArrayList<Listener>> listeners;
+
+    /**
+     * Parametrized constructor to start watching a directory.
+     *
+     * @param directory the absolute path of the directory
+     * @throws IOException if the directory can't be watched
+     */
+    private DataDirectoryWatcher(Path directory) throws IOException {
+        this.directory = directory;
+        this.service = FileSystems.getDefault().newWatchService();
+        this.listeners = new ConcurrentHashMap<>();
+        directory.register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+
+        Thread thread = new Thread(this::watch, "data-watcher-" + directory.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Method that gets the watcher of a directory, which is the same for every caller in the process.
+     *
+     * @param directory the directory
+     * @return the watcher of the directory
+     * @throws IOException if the directory can't be watched
+     */
+    public static DataDirectoryWatcher forDirectory(Path directory) throws IOException {
+        Path absolute = directory.toAbsolutePath().normalize();
+        DataDirectoryWatcher watcher = WATCHERS.get(absolute);
+        if (watcher == null) {
+            synchronized (WATCHERS) {
+                watcher = WATCHERS.get(absolute);
+                if (watcher == null) {
+                    watcher = new DataDirectoryWatcher(absolute);
+                    WATCHERS.put(absolute, watcher);
+                }
+            }
+        }
+        return watcher;
+    }
+
+    /**
+     * Method that gets the watcher of the directory a file is in.
+     *
+     * @param file the file
+     * @return the watcher of the file's directory
+     * @throws IOException if the directory can't be watched
+     */
+    public static DataDirectoryWatcher forFile(Path file) throws IOException {
+        return forDirectory(file.toAbsolutePath().normalize().getParent());
+    }
+
+    /**
+     * Method that subscribes to the changes of a file in the directory.
+     *
+     * @param file the file, which must be in the watched directory
+     * @param listener the subscriber to tell when the file changes
+     */
+    public void subscribe(Path file, Listener listener) {
+        listeners.computeIfAbsent(file.getFileName(), name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Method that stops telling a subscriber about the changes of a file.
+     *
+     * @param file the file the subscriber is subscribed to
+     * @param listener the subscriber
+     */
+    public void unsubscribe(Path file, Listener listener) {
+        CopyOnWriteArrayList<Listener> subscribers = listeners.get(file.getFileName());
+        if (subscribers != null) {
+            subscribers.remove(listener);
+        }
+    }
+
+    /**
+     * Method that receives the events of the directory until the watch service is closed.
+     */
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Set<Path> changed = new HashSet<>();
+                boolean overflow = false;
+
+                // Grouping the events of the same change
+                while (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == OVERFLOW) {
+                            overflow = true;
+                        } else {
+                            changed.add((Path) event.context());
+                        }
+                    }
+                    key.reset();
+                    key = service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+
+                notify(overflow ? new HashSet<>(listeners.keySet()) : changed);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+            // Nothing else to watch
+        }
+    }
+
+    /**
+     * Method that tells the subscribers of some files that they have changed.
+     *
+     * @param names the names of the changed files
+     */
+    private void notify(Set<Path> names) {
+        for (Path name : names) {
+            List<Listener> subscribers = listeners.getOrDefault(name, new CopyOnWriteArrayList<>());
+            for (Listener listener : new ArrayList<>(subscribers)) {
+                try {
+                    listener.changed(directory.resolve(name));
+                } catch (RuntimeException ignored) {
+                    // A failing subscriber mustn't stop the others from being told
+                }
+            }
+        }
+    }
+
+    /**
+     * Interface for the subscribers to the changes of a file.
+     */
+    public interface Listener {
+
+        /**
+         * Method called from the watcher's thread after the file has changed.
+         *
+         * @param file the absolute path of the file
+         */
+        void changed(Path file);
+    }
+}
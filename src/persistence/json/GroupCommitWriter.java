@@ -0,0 +1,342 @@
+package persistence.json;
+
+import com.google.gson.Gson;
+import persistence.json.codec.Codec;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Class that persists changes to a file holding an array in the background, grouping them into a single write.
+ *
+ * <p>Changes are queued in memory and return straight away. A single flusher thread reads the file once, applies every
+ * pending change in order and replaces the file atomically, either every few milliseconds or as soon as enough changes
+ * are queued. Each change comes with a future that completes when it's on disk. Changes are applied one at a time: one
+ * that throws is left out and its future completes exceptionally straight away, while the rest of the group is still
+ * written. If a write fails, the changes stay queued and are retried on the next flush; once the same changes have
+ * failed {@value #MAX_ATTEMPTS} times in a row (because the file is corrupt, for example), they are given up, their
+ * futures complete exceptionally and the failure is logged, so later changes aren't blocked behind them.
+ *
+ * <p>Once the writer is closed, it doesn't accept any more changes.
+ *
+ * <p>Reads apply the pending changes on top of the file, so callers always see their own changes, as copies that don't
+ * share anything with the queued changes. Flushes hold the file's {@link JsonFileLock}, so they don't lose changes
+ * written by other threads or processes in between.
+ *
+ * @param <T> the type of the elements of the array
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class GroupCommitWriter<T> {
+
+    // Number of flushes in a row that can fail before the changes they were writing are given up
+    public static final int MAX_ATTEMPTS = 3;
+    // Logger where the changes given up are reported
+    private static final Logger LOGGER = Logger.getLogger(GroupCommitWriter.class.getName());
+
+    // File where the elements are persisted
+    private final Path path;
+    // Gson instance used to read and write the file
+    private final Gson gson;
+    // Type of the elements of the array
+    private final Type type;
+    // Codec used to write the file
+    private final Codec codec;
+    // Number of queued changes that triggers a flush without waiting for the interval
+    private final int maxOperations;
+    // Changes that aren't on disk yet, in the order they were made
+    private final ArrayDeque<Pending<T>> pending;
+    // Lock that protects the queue of changes, which is never held while doing I/O
+    private final ReentrantLock queueLock;
+    // Lock that keeps reads from seeing the file in the middle of a flush, shared with every other user of the file
+    private final JsonFileLock fileLock;
+    // Thread where the flushes happen
+    private final ScheduledExecutorService flusher;
+    // Number of flushes in a row that have failed, only used while holding the file lock
+    private int failedAttempts;
+    // Whether the writer has been closed, only changed while holding the queue lock
+    private boolean closed;
+
+    /**
+     * Parametrized constructor to start persisting changes to a file in the background.
+     *
+     * @param path the file where the elements are persisted
+     * @param gson the Gson instance used to read and write the file
+     * @param type the type of the elements of the array
+     * @param codec the codec used to write the file
+     * @param intervalMillis the number of milliseconds between flushes
+     * @param maxOperations the number of queued changes that triggers a flush without waiting for the interval
+     */
+    public GroupCommitWriter(Path path, Gson gson, Type type, Codec codec, long intervalMillis, int maxOperations) {
+        this.path = path;
+        this.gson = gson;
+        this.type = type;
+        this.codec = codec;
+        this.maxOperations = maxOperations;
+        this.pending = new ArrayDeque<>();
+        this.queueLock = new ReentrantLock();
+        this.fileLock = JsonFileLock.forPath(path);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "group-commit-" + path.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Method that queues a change to the elements in the file.
+     *
+     * @param change the change to apply to the elements, which must only add or remove elements of the list and not
+     *               depend on objects the caller may modify later
+     * @return a future that completes once the change is on disk
+     * @throws IOException if the writer has been closed
+     */
+    public CompletableFuture<Void> submit(Consumer<ArrayList<T>> change) throws IOException {
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        queueLock.lock();
+        try {
+            if (closed) {
+                throw new IOException("The writer of " + path + " is closed.");
+            }
+            pending.add(new Pending<>(change, durable));
+            // Still holding the lock, so close() can't have shut the flusher down yet
+            if (pending.size() >= maxOperations) {
+                flusher.execute(this::flushQuietly);
+            }
+        } finally {
+            queueLock.unlock();
+        }
+        return durable;
+    }
+
+    /**
+     * Method that gets a future that completes once every change queued so far is on disk.
+     *
+     * @return the future of the last queued change, or a completed one if there are no changes queued
+     */
+    public CompletableFuture<Void> flushed() {
+        queueLock.lock();
+        try {
+            return pending.isEmpty() ? CompletableFuture.completedFuture(null) : pending.getLast().durable;
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Method that reads the elements in the file with every queued change applied.
+     *
+     * <p>The elements added by the queued changes are copied, so the caller can modify them without changing what
+     * will be written.
+     *
+     * @return an array list with the elements
+     * @throws IOException if something goes wrong when reading the file
+     */
+    public ArrayList<T> read() throws IOException {
+        return fileLock.read(() -> {
+            ArrayList<T> elements = JsonArrayStream.readAll(path, gson, type);
+            ArrayList<Pending<T>> changes = queued();
+            if (changes.isEmpty()) {
+                return elements;
+            }
+
+            Set<T> read = Collections.newSetFromMap(new IdentityHashMap<>());
+            read.addAll(elements);
+            elements = apply(elements, changes, new LinkedHashMap<>());
+            elements.replaceAll(element -> read.contains(element) ? element : copy(element));
+            return elements;
+        });
+    }
+
+    /**
+     * Method that makes a copy of an element that can be safely kept in a queued change.
+     *
+     * @param element the element to copy
+     * @return a deep copy of the persisted information of the element
+     */
+    public T copy(T element) {
+        return gson.fromJson(gson.toJsonTree(element), type);
+    }
+
+    /**
+     * Method that writes every queued change to the file right away.
+     *
+     * <p>Changes that throw are left out and their futures complete exceptionally. If the rest can't be written, they
+     * stay queued, unless they have already failed {@value #MAX_ATTEMPTS} times in a row: then they are given up and
+     * their futures complete exceptionally.
+     *
+     * @throws IOException if something goes wrong when reading or writing the file
+     */
+    public void flush() throws IOException {
+        ArrayList<Pending<T>> batch = new ArrayList<>();
+        LinkedHashMap<Pending<T>, RuntimeException> failed = new LinkedHashMap<>();
+        IOException[] writeFailure = new IOException[1];
+        boolean[] givenUp = new boolean[1];
+        fileLock.write(() -> {
+            batch.addAll(queued());
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                ArrayList<T> elements = apply(JsonArrayStream.readAll(path, gson, type), batch, failed);
+                JsonFiles.writeArray(path, gson.toJsonTree(elements).getAsJsonArray(), codec);
+                failedAttempts = 0;
+            } catch (IOException | RuntimeException e) {
+                writeFailure[0] = e instanceof IOException ? (IOException) e : new IOException("Couldn't write the queued changes.", e);
+                failedAttempts++;
+                if (failedAttempts >= MAX_ATTEMPTS) {
+                    failedAttempts = 0;
+                    givenUp[0] = true;
+                }
+            }
+
+            queueLock.lock();
+            try {
+                if (writeFailure[0] == null || givenUp[0]) {
+                    for (int i = 0; i < batch.size(); i++) {
+                        pending.removeFirst();
+                    }
+                } else {
+                    // The rest are retried, but the changes that threw wouldn't do any better next time
+                    pending.removeAll(failed.keySet());
+                }
+            } finally {
+                queueLock.unlock();
+            }
+        });
+
+        for (Map.Entry<Pending<T>, RuntimeException> change : failed.entrySet()) {
+            LOGGER.log(Level.WARNING, "Left out a queued change to " + path + " that failed.", change.getValue());
+            change.getKey().durable.completeExceptionally(change.getValue());
+        }
+        batch.removeAll(failed.keySet());
+
+        if (givenUp[0]) {
+            IOException failure = new IOException("Gave up writing " + batch.size() + " queued changes to " + path
+                    + " after " + MAX_ATTEMPTS + " attempts.", writeFailure[0]);
+            LOGGER.log(Level.WARNING, failure.getMessage(), writeFailure[0]);
+            for (Pending<T> change : batch) {
+                change.durable.completeExceptionally(failure);
+            }
+            throw failure;
+        }
+        if (writeFailure[0] != null) {
+            throw writeFailure[0];
+        }
+        for (Pending<T> change : batch) {
+            change.durable.complete(null);
+        }
+    }
+
+    /**
+     * Method that writes every queued change and stops the flusher thread.
+     *
+     * @throws IOException if something goes wrong when writing the last changes
+     */
+    public void close() throws IOException {
+        queueLock.lock();
+        try {
+            closed = true;
+        } finally {
+            queueLock.unlock();
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * Method that flushes from the flusher thread, where a failure means the changes are retried later, or have
+     * already been reported if they were given up.
+     */
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            // The changes are still queued, so the next flush will try again, or they were given up and logged
+        }
+    }
+
+    /**
+     * Method that applies some changes to the elements one at a time, leaving out the ones that throw.
+     *
+     * <p>Every change is applied to its own copy of the list, so one that throws halfway doesn't leave any trace.
+     *
+     * @param elements the elements read from the file
+     * @param changes the changes to apply, in order
+     * @param failed where the changes that threw are added, together with what they threw
+     * @return the elements with every change that didn't throw applied
+     */
+    private ArrayList<T> apply(ArrayList<T> elements, ArrayList<Pending<T>> changes, Map<Pending<T>, RuntimeException> failed) {
+        for (Pending<T> change : changes) {
+            ArrayList<T> changed = new ArrayList<>(elements);
+            try {
+                change.change.accept(changed);
+                elements = changed;
+            } catch (RuntimeException e) {
+                failed.put(change, e);
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Method that copies the queue of changes.
+     *
+     * @return the queued changes, in order
+     */
+    private ArrayList<Pending<T>> queued() {
+        queueLock.lock();
+        try {
+            return new ArrayList<>(pending);
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
+    /**
+     * Class that holds a queued change together with the future completed once it's on disk.
+     *
+     * @param <T> the type of the elements of the array
+     */
+    private static class Pending<T> {
+
+        // The change to apply to the elements
+        private final Consumer<ArrayList<T>> change;
+        // Future completed once the change is on disk
+        private final CompletableFuture<Void> durable;
+
+        /**
+         * Parametrized constructor to queue a change.
+         *
+         * @param change the change to apply to the elements
+         * @param durable the future completed once the change is on disk
+         */
+        private Pending(Consumer<ArrayList<T>> change, CompletableFuture<Void> durable) {
+            this.change = change;
+            this.durable = durable;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package persistence.json;
+
+import com.google.gson.Gson;
+import persistence.json.codec.Codecs;
+import persistence.json.codec.ElementReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Class that reads a file holding an array one element at a time, so that the whole file never has to be in memory.
+ *
+ * <p>The file can be written with any of the {@link persistence.json.codec.Codec}s, which is detected from its content.
+ *
+ * <p>It can be used as an iterator (and has to be closed afterwards), or through its static methods, which read the
+ * file, keep the elements the caller wants and close it.
+ *
+ * @param <T> the type of the elements of the array
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class JsonArrayStream<T> implements Iterator<T>, Closeable {
+
+    // Reader of the elements in the file
+    private final ElementReader reader;
+    // Gson instance used to build every element
+    private final Gson gson;
+    // Type of the elements of the array
+    private final Type type;
+
+    /**
+     * Parametrized constructor to start reading an array from a file.
+     *
+     * @param path the file to read
+     * @param gson the Gson instance used to build every element
+     * @param type the type of the elements of the array
+     * @throws IOException if something goes wrong when opening the file or it doesn't hold an array
+     */
+    public JsonArrayStream(Path path, Gson gson, Type type) throws IOException {
+        this.reader = Codecs.open(path);
+        this.gson = gson;
+        this.type = type;
+    }
+
+    /**
+     * Method that checks whether there are more elements to read.
+     *
+     * @return whether there are more elements or not
+     */
+    @Override
+    public boolean hasNext() {
+        try {
+            return reader.hasNext();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Method that reads the next element of the array.
+     *
+     * @return an object representation of the element
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return reader.next(gson, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Method that closes the file.
+     *
+     * @throws IOException if something goes wrong when closing the file
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Method that reads every element of an array stored in a file.
+     *
+     * @param path the file to read
+     * @param gson the Gson instance used to build every element
+     * @param type the type of the elements of the array
+     * @param <T> the type of the elements of the array
+     * @return an array list with all the elements
+     * @throws IOException if something goes wrong when reading the file
+     */
+    public static <T> ArrayList<T> readAll(Path path, Gson gson, Type type) throws IOException {
+        return filter(path, gson, type, element -> true);
+    }
+
+    /**
+     * Method that reads an array stored in a file, keeping only the elements that pass a filter.
+     *
+     * <p>Elements that don't pass the filter are discarded as soon as they're read.
+     *
+     * @param path the file to read
+     * @param gson the Gson instance used to build every element
+     * @param type the type of the elements of the array
+     * @param filter the condition an element has to meet to be kept
+     * @param <T> the type of the elements of the array
+     * @return an array list with the elements that passed the filter, in file order
+     * @throws IOException if something goes wrong when reading the file
+     */
+    public static <T> ArrayList<T> filter(Path path, Gson gson, Type type, Predicate<T> filter) throws IOException {
+        ArrayList<T> elements = new ArrayList<>();
+        try (JsonArrayStream<T> stream = new JsonArrayStream<>(path, gson, type)) {
+            while (stream.hasNext()) {
+                T element = stream.next();
+                if (filter.test(element)) {
+                    elements.add(element);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return elements;
+    }
+
+    /**
+     * Method that reads a page of the elements of an array stored in a file that pass a filter.
+     *
+     * <p>The file is only read up to the last element of the page.
+     *
+     * @param path the file to read
+     * @param gson the Gson instance used to build every element
+     * @param type the type of the elements of the array
+     * @param filter the condition an element has to meet to be counted
+     * @param offset the number of elements that pass the filter to skip
+     * @param limit the maximum number of elements to return
+     * @param <T> the type of the elements of the array
+     * @return an array list with the elements in the page, in file order
+     * @throws IOException if something goes wrong when reading the file
+     */
+    public static <T> ArrayList<T> page(Path path, Gson gson, Type type, Predicate<T> filter, int offset, int limit) throws IOException {
+        ArrayList<T> elements = new ArrayList<>();
+        int skipped = 0;
+        try (JsonArrayStream<T> stream = new JsonArrayStream<>(path, gson, type)) {
+            while (elements.size() < limit && stream.hasNext()) {
+                T element = stream.next();
+                if (filter.test(element)) {
+                    if (skipped < offset) {
+                        skipped++;
+                    } else {
+                        elements.add(element);
+                    }
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return elements;
+    }
+}
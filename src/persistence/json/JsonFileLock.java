@@ -0,0 +1,127 @@
+package persistence.json;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Class that coordinates the threads and processes that read and write the same data file.
+ *
+ * <p>Inside the application, every file has a single read-write lock shared by all the objects that use it, so any
+ * number of reads run in parallel while writes run one at a time and with no reads in progress. Writes also take an
+ * exclusive lock on a sidecar file ({@code <file>.lock}), so that other processes sharing the data directory don't
+ * interleave their read-modify-write cycles with ours. Reads don't need the sidecar lock, as files are always replaced
+ * atomically and a reader either sees the old content or the new one.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public final class JsonFileLock {
+
+    // Locks of every file in use, indexed by their absolute path
+    private static final ConcurrentHashMap<Path, JsonFileLock> LOCKS = new ConcurrentHashMap<>();
+
+    // Sidecar file locked by writers of other processes as well
+    private final Path sidecar;
+    // Lock shared by the threads of this process
+    private final ReentrantReadWriteLock lock;
+
+    /**
+     * Parametrized constructor to coordinate the access to a file.
+     *
+     * @param path the absolute path of the file
+     */
+    private JsonFileLock(Path path) {
+        this.sidecar = path.resolveSibling(path.getFileName() + ".lock");
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Method that gets the lock of a file, which is the same for every caller in the process.
+     *
+     * @param path the file
+     * @return the lock of the file
+     */
+    public static JsonFileLock forPath(Path path) {
+        return LOCKS.computeIfAbsent(path.toAbsolutePath().normalize(), JsonFileLock::new);
+    }
+
+    /**
+     * Method that reads the file while no write is in progress in this process.
+     *
+     * @param reading the reading to do
+     * @param <T> the type of the result of the reading
+     * @return the result of the reading
+     * @throws IOException if something goes wrong when reading
+     */
+    public <T> T read(Reading<T> reading) throws IOException {
+        lock.readLock().lock();
+        try {
+            return reading.run();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method that changes the file while no other thread or process is reading it to change it.
+     *
+     * <p>Writes can't be started while holding the read lock, but they can be nested in other writes.
+     *
+     * @param writing the change to do, which must replace the file atomically
+     * @throws IOException if something goes wrong when locking or changing the file
+     */
+    public void write(Writing writing) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (lock.getWriteHoldCount() > 1) {
+                // The sidecar is already locked by an outer write of this thread
+                writing.run();
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock fileLock = channel.lock();
+                try {
+                    writing.run();
+                } finally {
+                    fileLock.release();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Interface for readings done while holding the read lock.
+     *
+     * @param <T> the type of the result of the reading
+     */
+    public interface Reading<T> {
+
+        /**
+         * Method that does the reading.
+         *
+         * @return the result of the reading
+         * @throws IOException if something goes wrong when reading
+         */
+        T run() throws IOException;
+    }
+
+    /**
+     * Interface for changes done while holding the write lock.
+     */
+    public interface Writing {
+
+        /**
+         * Method that does the change.
+         *
+         * @throws IOException if something goes wrong when changing the file
+         */
+        void run() throws IOException;
+    }
+}
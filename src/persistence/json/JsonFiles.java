@@ -0,0 +1,92 @@
+package persistence.json;
+
+import com.google.gson.JsonArray;
+import persistence.json.codec.Codec;
+import persistence.json.codec.Codecs;
+import persistence.json.codec.ElementReader;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class that groups file operations shared by the JSON Data Access Objects.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public final class JsonFiles {
+
+    /**
+     * Private constructor, as this class only has static methods.
+     */
+    private JsonFiles() {
+    }
+
+    /**
+     * Method that replaces the content of a file so that readers either see the old content or the new one.
+     *
+     * <p>The content is written to a temporary file next to the target, forced to disk and then moved over the target.
+     *
+     * @param path the file to write
+     * @param content a string representation of the new content of the file
+     * @throws IOException if something goes wrong when writing or moving the file
+     */
+    public static void writeAtomically(Path path, String content) throws IOException {
+        writeAtomically(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Method that replaces the content of a file so that readers either see the old content or the new one.
+     *
+     * @param path the file to write
+     * @param content the new content of the file
+     * @throws IOException if something goes wrong when writing or moving the file
+     */
+    public static void writeAtomically(Path path, byte[] content) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, content);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Method that reads a file holding an array written with any codec, detecting which one from its content.
+     *
+     * @param path the file to read
+     * @return a tree representation of the array, which is empty if the file is empty
+     * @throws IOException if something goes wrong when reading the file or it doesn't hold an array
+     */
+    public static JsonArray readArray(Path path) throws IOException {
+        JsonArray elements = new JsonArray();
+        try (ElementReader reader = Codecs.open(path)) {
+            while (reader.hasNext()) {
+                elements.add(reader.nextElement());
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Method that atomically replaces the content of a file with an array encoded with a codec.
+     *
+     * @param path the file to write
+     * @param elements a tree representation of the array
+     * @param codec the codec used to encode the array
+     * @throws IOException if something goes wrong when writing or moving the file
+     */
+    public static void writeArray(Path path, JsonArray elements, Codec codec) throws IOException {
+        writeAtomically(path, codec.encode(elements));
+    }
+}
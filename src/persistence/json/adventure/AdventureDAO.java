@@ -1,6 +1,7 @@
 package persistence.json.adventure;
 
 import business.entities.Adventure;
+import business.entities.AdventureHeader;
 import business.entities.Character;
 import persistence.exceptions.PersistenceException;
 
@@ -32,4 +33,22 @@ public interface AdventureDAO {
      * @throws PersistenceException if something goes wrong when persisting (writing to the file)
      */
     void save(Adventure adventure) throws PersistenceException, IOException;
+
+    /**
+     * Method that reads the headers of all adventures (name, number of encounters and total experience), without their
+     * encounters.
+     *
+     * @return the headers, in the same order as the adventures
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    ArrayList<AdventureHeader> getHeaders() throws IOException;
+
+    /**
+     * Method that reads the persisted information of a specific adventure, specifically the one with a specific name.
+     *
+     * @param name a string representation of the name to use in the query
+     * @return the adventure, or null if there isn't an adventure with that name
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    Adventure getByName(String name) throws IOException;
 }
\ No newline at end of file
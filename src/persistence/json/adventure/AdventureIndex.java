@@ -0,0 +1,113 @@
+package persistence.json.adventure;
+
+import business.entities.AdventureHeader;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import persistence.json.JsonFiles;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class that keeps the headers of the adventures in a file next to the adventures file ({@code <file>.index}), so
+ * that they can be listed without reading every encounter.
+ *
+ * <p>The index remembers the stamp of the adventures file it was built from, which is its size and modification time
+ * plus anything else the caller adds to it. When it doesn't match anymore (because the file has been changed by hand or
+ * by another process), the index is ignored and the caller has to build it again.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+class AdventureIndex {
+
+    // File with the adventures
+    private final Path data;
+    // File with the headers
+    private final Path index;
+    // Gson instance to read and write the headers
+    private final Gson gson;
+
+    /**
+     * Parametrized constructor to keep the headers of an adventures file.
+     *
+     * @param data the file with the adventures
+     */
+    AdventureIndex(Path data) {
+        this.data = data;
+        this.index = data.resolveSibling(data.getFileName() + ".index");
+        this.gson = new Gson();
+    }
+
+    /**
+     * Method that gets a stamp of the current state of the adventures file.
+     *
+     * @return a string representation of the size and modification time of the file
+     * @throws IOException if something goes wrong when reading the file attributes
+     */
+    String stamp() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(data, BasicFileAttributes.class);
+        return attributes.size() + ":" + attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Method that reads the headers, if they were built from the adventures file in a certain state.
+     *
+     * @param stamp the stamp of the state of the adventures file the headers must have been built from
+     * @return the headers, or null if there's no index or it was built from a different state of the file
+     * @throws IOException if something goes wrong when reading the index
+     */
+    ArrayList<AdventureHeader> read(String stamp) throws IOException {
+        Stored stored;
+        try (Reader reader = Files.newBufferedReader(index, StandardCharsets.UTF_8)) {
+            stored = gson.fromJson(reader, Stored.class);
+        } catch (NoSuchFileException | JsonParseException e) {
+            return null;
+        }
+
+        if (stored == null || stored.headers == null || !stamp.equals(stored.stamp)) {
+            return null;
+        }
+        return stored.headers;
+    }
+
+    /**
+     * Method that replaces the headers.
+     *
+     * @param stamp the stamp of the state of the adventures file the headers were built from
+     * @param headers the headers
+     * @throws IOException if something goes wrong when writing the index
+     */
+    void write(String stamp, ArrayList<AdventureHeader> headers) throws IOException {
+        JsonFiles.writeAtomically(index, gson.toJson(new Stored(stamp, headers)));
+    }
+
+    /**
+     * Class that holds the content of the index file.
+     */
+    private static class Stored {
+
+        // Stamp of the state of the adventures file the headers were built from
+        private final String stamp;
+        // Headers of the adventures, in file order
+        private final ArrayList<AdventureHeader> headers;
+
+        /**
+         * Parametrized constructor to hold the content of the index file.
+         *
+         * @param stamp the stamp of the state of the adventures file the headers were built from
+         * @param headers the headers of the adventures
+         */
+        private Stored(String stamp, ArrayList<AdventureHeader> headers) {
+            this.stamp = stamp;
+            this.headers = headers;
+        }
+    }
+}
@@ -1,10 +1,22 @@
 package persistence.json.adventure;
 
 import business.entities.Adventure;
+import business.entities.AdventureHeader;
 import business.entities.Character;
+import business.entities.Encounter;
+import business.entities.MonsterTemplate;
 import com.google.gson.*;
 import com.google.gson.reflect.TypeToken;
 import persistence.exceptions.PersistenceException;
+import persistence.json.GroupCommitWriter;
+import persistence.json.JsonArrayStream;
+import persistence.json.JsonFileLock;
+import persistence.json.JsonFiles;
+import persistence.json.codec.Codec;
+import persistence.json.codec.Codecs;
+import persistence.json.codec.ElementReader;
+import persistence.json.monster.MonsterDAO;
+import persistence.json.monster.MonsterTemplateAdapter;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
@@ -13,34 +25,168 @@ import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Class that implements the methods described in the {@link AdventureDAO} interface, persisting adventures in a JSON file.
+ *
+ * <p>In write-behind mode, new adventures are queued and written to the file by a background {@link GroupCommitWriter}
+ * instead of on the caller's thread; {@link #flushed()} tells the caller when they are on disk.
+ *
+ * <p>Reads run in parallel with other readers of the file, while saving an adventure holds the file's
+ * {@link JsonFileLock} so that changes made by other threads or processes aren't lost.
+ *
+ * <p>The file is written with a {@link Codec} (pretty printed JSON by default) and can be read whatever codec it was
+ * written with.
+ *
+ * <p>Given the monster catalog, encounters are stored as (monster name, count) pairs that are resolved against it when
+ * they are read, instead of a full copy of every monster (see {@link EncounterAdapter}). Adventures stored with full
+ * copies can still be read, and {@link #normalize()} rewrites them.
+ *
+ * <p>The headers of the adventures are kept in a small index file next to the adventures file (see
+ * {@link AdventureIndex}), which is updated when an adventure is saved and built again when the file has changed
+ * underneath it, or when the experience of the monsters the encounters reference has. Looking an adventure up by name
+ * only builds the encounters of that adventure.
+ */
 public class AdventureJsonDAO implements AdventureDAO{
 
     // Path to the file where the adventures will be persisted
     private final Path path;
     // Gson instance to help when persisting
     private final Gson gson;
+    // Codec used to write the file
+    private final Codec codec;
+    // Lock shared with every other user of the file
+    private final JsonFileLock lock;
+    // Index with the headers of the adventures
+    private final AdventureIndex index;
+    // Writer that persists changes in the background, or null if they are written on the caller's thread
+    private final GroupCommitWriter<Adventure> writer;
+    // Monster catalog the encounters reference, or null if they store full copies of the monsters
+    private final MonsterDAO monsters;
 
     /**
      * Parametrized constructor to persist characters in a JSON file, while being able to read character information.
      *
+     * <p>The file is written back in the format it already has, or as pretty printed JSON if it's new.
+     *
      * @param path a string representation of the file path to open (or create if it doesn't exist)
      * @throws PersistenceException if something goes wrong when opening/creating the file (including but not limited to the path being malformed)
      */
     public AdventureJsonDAO(String path) throws PersistenceException {
+        this(path, Codecs.detect(path, Codecs.PRETTY_JSON));
+    }
+
+    /**
+     * Parametrized constructor to persist adventures in a file written with a specific codec.
+     *
+     * @param path a string representation of the file path to open (or create if it doesn't exist)
+     * @param codec the codec used to write the file
+     * @throws PersistenceException if something goes wrong when opening/creating the file (including but not limited to the path being malformed)
+     */
+    public AdventureJsonDAO(String path, Codec codec) throws PersistenceException {
+        this(path, codec, 0, 0);
+    }
+
+    /**
+     * Parametrized constructor to persist adventures in a JSON file in write-behind mode.
+     *
+     * <p>The file is written back in the format it already has, or as pretty printed JSON if it's new.
+     *
+     * @param path a string representation of the file path to open (or create if it doesn't exist)
+     * @param flushMillis the number of milliseconds between writes to the file
+     * @param flushOperations the number of queued changes that triggers a write without waiting
+     * @throws PersistenceException if something goes wrong when opening/creating the file (including but not limited to the path being malformed)
+     */
+    public AdventureJsonDAO(String path, long flushMillis, int flushOperations) throws PersistenceException {
+        this(path, Codecs.detect(path, Codecs.PRETTY_JSON), flushMillis, flushOperations);
+    }
+
+    /**
+     * Parametrized constructor to persist adventures in a file written with a specific codec, in write-behind mode if
+     * a flush interval is given.
+     *
+     * @param path a string representation of the file path to open (or create if it doesn't exist)
+     * @param codec the codec used to write the file
+     * @param flushMillis the number of milliseconds between writes to the file, or 0 to write on the caller's thread
+     * @param flushOperations the number of queued changes that triggers a write without waiting
+     * @throws PersistenceException if something goes wrong when opening/creating the file (including but not limited to the path being malformed)
+     */
+    public AdventureJsonDAO(String path, Codec codec, long flushMillis, int flushOperations) throws PersistenceException {
+        this(path, codec, flushMillis, flushOperations, null);
+    }
+
+    /**
+     * Parametrized constructor to persist adventures in a JSON file whose encounters reference the monster catalog.
+     *
+     * <p>The file is written back in the format it already has, or as pretty printed JSON if it's new.
+     *
+     * @param path a string representation of the file path to open (or create if it doesn't exist)
+     * @param monsters the Data Access Object of the monster catalog
+     * @throws PersistenceException if something goes wrong when opening/creating the file (including but not limited to the path being malformed)
+     */
+    public AdventureJsonDAO(String path, MonsterDAO monsters) throws PersistenceException {
+        this(path, Codecs.detect(path, Codecs.PRETTY_JSON), 0, 0, monsters);
+    }
+
+    /**
+     * Parametrized constructor to persist adventures in a file written with a specific codec, in write-behind mode if
+     * a flush interval is given, and whose encounters reference the monster catalog if one is given.
+     *
+     * @param path a string representation of the file path to open (or create if it doesn't exist)
+     * @param codec the codec used to write the file
+     * @param flushMillis the number of milliseconds between writes to the file, or 0 to write on the caller's thread
+     * @param flushOperations the number of queued changes that triggers a write without waiting
+     * @param monsters the Data Access Object of the monster catalog, or null to store full copies of the monsters
+     * @throws PersistenceException if something goes wrong when opening/creating the file (including but not limited to the path being malformed)
+     */
+    public AdventureJsonDAO(String path, Codec codec, long flushMillis, int flushOperations, MonsterDAO monsters) throws PersistenceException {
         try {
             Path p = Paths.get(path);
 
             if (!Files.exists(p)) {
                 Files.createFile(p);
-
             }
 
             this.path = p;
-            this.gson = new GsonBuilder().setPrettyPrinting().create();
+            this.gson = new GsonBuilder()
+                    .setPrettyPrinting()
+                    .registerTypeAdapter(Encounter.class, new EncounterAdapter(monsters))
+                    .registerTypeAdapter(MonsterTemplate.class, new MonsterTemplateAdapter())
+                    .create();
+            this.codec = codec;
+            this.lock = JsonFileLock.forPath(p);
+            this.index = new AdventureIndex(p);
+            this.writer = flushMillis > 0 ? new GroupCommitWriter<>(p, gson, Adventure.class, codec, flushMillis, flushOperations) : null;
+            this.monsters = monsters;
 
         } catch (InvalidPathException | IOException e) {
-            throw new PersistenceException("Couldn't create a Character DAO (JSON implementation) with path: " + path + ".", e);
+            throw new PersistenceException("Couldn't create an Adventure DAO (JSON implementation) with path: " + path + ".", e);
+        }
+    }
+
+    /**
+     * Method that gets a future that completes once every change made so far is on disk.
+     *
+     * @return the future, which is already completed if changes are written on the caller's thread
+     */
+    public CompletableFuture<Void> flushed() {
+        return writer == null ? CompletableFuture.completedFuture(null) : writer.flushed();
+    }
+
+    /**
+     * Method that writes every queued change and stops writing in the background.
+     *
+     * @throws PersistenceException if something goes wrong when writing the queued changes
+     */
+    public void close() throws PersistenceException {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new PersistenceException("Couldn't write the queued Adventures.", e);
+            }
         }
     }
 
@@ -50,16 +196,96 @@ public class AdventureJsonDAO implements AdventureDAO{
      */
     @Override
     public ArrayList<Adventure> getAll() throws IOException {
+        try {
+            if (writer != null) {
+                return writer.read();
+            }
+            return lock.read(() -> JsonArrayStream.readAll(path, gson, Adventure.class));
+        } catch (JsonParseException e) {
+            throw new IOException("Couldn't read the Adventures (JSON implementation).", e);
+        }
+    }
 
-        String adventuresString = Files.readString(path);
-        Type listType = new TypeToken<ArrayList<Adventure>>(){}.getType();
-        ArrayList<Adventure> all = gson.fromJson(adventuresString, listType);
+    /**
+     * Method that rewrites the file so that every encounter references the monster catalog.
+     *
+     * @return the number of adventures in the file
+     * @throws PersistenceException if something goes wrong when reading or writing the file
+     */
+    public int normalize() throws PersistenceException {
+        ArrayList<Adventure> adventures = new ArrayList<>();
+        try {
+            lock.write(() -> {
+                ArrayList<AdventureHeader> headers = index.read(stamp());
+                adventures.addAll(JsonArrayStream.readAll(path, gson, Adventure.class));
+                JsonFiles.writeArray(path, gson.toJsonTree(adventures).getAsJsonArray(), codec);
+                if (headers != null) {
+                    index.write(stamp(), headers);
+                }
+            });
+        } catch (IOException | JsonParseException e) {
+            throw new PersistenceException("Couldn't normalize the Adventures (JSON implementation).", e);
+        }
+        return adventures.size();
+    }
 
-        if (all == null){
-            all = new ArrayList<>();
+    /**
+     * Method that reads the headers of all adventures from the index, building it again if the file has changed.
+     *
+     * <p>In write-behind mode, the headers are built from the adventures with the queued changes applied instead.
+     *
+     */
+    @Override
+    public ArrayList<AdventureHeader> getHeaders() throws IOException {
+        try {
+            if (writer != null) {
+                return headersOf(writer.read());
+            }
+            return lock.read(() -> {
+                String stamp = stamp();
+                ArrayList<AdventureHeader> headers = index.read(stamp);
+                if (headers == null) {
+                    headers = headersOf(JsonArrayStream.readAll(path, gson, Adventure.class));
+                    index.write(stamp, headers);
+                }
+                return headers;
+            });
+        } catch (JsonParseException e) {
+            throw new IOException("Couldn't read the Adventures (JSON implementation).", e);
         }
+    }
 
-        return all;
+    /**
+     * Method that reads the persisted information of a specific adventure, building only the encounters of that one.
+     *
+     * @param name a string representation of the name to use in the query
+     */
+    @Override
+    public Adventure getByName(String name) throws IOException {
+        try {
+            if (writer != null) {
+                for (Adventure adventure : writer.read()) {
+                    if (name.equals(adventure.getName())) {
+                        return adventure;
+                    }
+                }
+                return null;
+            }
+            return lock.read(() -> {
+                try (ElementReader reader = Codecs.open(path)) {
+                    while (reader.hasNext()) {
+                        JsonElement adventure = reader.nextElement();
+                        JsonElement adventureName = adventure.getAsJsonObject().get("name");
+                        if (adventureName != null && name.equals(adventureName.getAsString())) {
+                            return gson.fromJson(adventure, Adventure.class);
+                        }
+                    }
+                }
+                return null;
+            });
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IOException("Couldn't read the Adventures (JSON implementation).", e);
+        }
     }
 
     /**
@@ -70,19 +296,65 @@ public class AdventureJsonDAO implements AdventureDAO{
     @Override
     public void save(Adventure adventure) throws IOException, PersistenceException {
 
-        JsonArray adventures;
-        JsonObject adventuresJson = gson.toJsonTree(adventure).getAsJsonObject();
-        try {
-            adventures = JsonParser.parseString(Files.readString(path)).getAsJsonArray();
-        }catch (IllegalStateException e){
-            adventures = new JsonArray();
+        if (writer != null) {
+            Adventure copy = writer.copy(adventure);
+            writer.submit(all -> all.add(copy));
+            return;
         }
-        adventures.add(adventuresJson);
 
+        JsonObject adventuresJson = gson.toJsonTree(adventure).getAsJsonObject();
+        AdventureHeader header = new AdventureHeader(adventure);
         try {
-            Files.writeString(path, gson.toJson(adventures));
+            lock.write(() -> {
+                ArrayList<AdventureHeader> headers = index.read(stamp());
+                JsonArray adventures = JsonFiles.readArray(path);
+                adventures.add(adventuresJson);
+                JsonFiles.writeArray(path, adventures, codec);
+                if (headers != null) {
+                    headers.add(header);
+                    index.write(stamp(), headers);
+                }
+            });
         } catch (IOException e) {
             throw new PersistenceException("Couldn't save a Student (JSON implementation).", e);
         }
     }
+
+    /**
+     * Method that gets a stamp of the current state of the adventures file and, if the encounters reference the
+     * monster catalog, of the experience of its monsters, which the headers depend on.
+     *
+     * @return a string representation of the stamp
+     * @throws IOException if something goes wrong when reading the file attributes or the monster catalog
+     */
+    private String stamp() throws IOException {
+        String stamp = index.stamp();
+        if (monsters == null) {
+            return stamp;
+        }
+
+        int experiences = 1;
+        try {
+            for (MonsterTemplate monster : monsters.getAll()) {
+                experiences = 31 * experiences + Objects.hash(monster.getName(), monster.getExperience());
+            }
+        } catch (PersistenceException e) {
+            throw new IOException("Couldn't read the monster catalog.", e);
+        }
+        return stamp + ":" + Integer.toHexString(experiences);
+    }
+
+    /**
+     * Method that builds the headers of some adventures.
+     *
+     * @param adventures the adventures
+     * @return the headers, in the same order as the adventures
+     */
+    private static ArrayList<AdventureHeader> headersOf(ArrayList<Adventure> adventures) {
+        ArrayList<AdventureHeader> headers = new ArrayList<>(adventures.size());
+        for (Adventure adventure : adventures) {
+            headers.add(new AdventureHeader(adventure));
+        }
+        return headers;
+    }
 }
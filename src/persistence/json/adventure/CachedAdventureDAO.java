@@ -0,0 +1,153 @@
+package persistence.json.adventure;
+
+import business.entities.Adventure;
+import business.entities.AdventureHeader;
+import persistence.exceptions.PersistenceException;
+import persistence.json.DataDirectoryWatcher;
+import persistence.json.monster.CachedMonsterDAO;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+/**
+ * Class that implements the methods described in the {@link AdventureDAO} interface by decorating another
+ * {@link AdventureDAO}, keeping the parsed adventures in memory until their file changes.
+ *
+ * <p>The file isn't checked on every read: a {@link DataDirectoryWatcher} tells the cache when the file has been
+ * changed, and the adventures are only read again from the decorated DAO on the next read after that. Saving an
+ * adventure goes through the decorated DAO and adds a copy of it to the cached adventures. Every read gets its own copy
+ * of the adventures, so callers can't change the cached ones.
+ *
+ * <p>The headers of the adventures are cached on their own, so that listing them doesn't read every encounter.
+ *
+ * <p>When the encounters reference a cached monster catalog, the adventures are also forgotten whenever the catalog
+ * is, as they hold the monsters that were in it when they were read.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class CachedAdventureDAO implements AdventureDAO {
+
+    // Data Access Object that really persists the adventures
+    private final AdventureDAO dao;
+    // Adventures read from the decorated DAO, or null if they have to be read again
+    private ArrayList<Adventure> adventures;
+    // Headers read from the decorated DAO, or null if they have to be read again
+    private ArrayList<AdventureHeader> headers;
+    // Number of times the adventures have been read from the decorated DAO
+    private long reloads;
+
+    /**
+     * Parametrized constructor to keep in memory the adventures persisted by another DAO.
+     *
+     * @param dao the Data Access Object to decorate
+     * @param path a string representation of the file path where the decorated DAO persists the adventures
+     * @throws IOException if the directory of the file can't be watched
+     */
+    public CachedAdventureDAO(AdventureDAO dao, String path) throws IOException {
+        this.dao = dao;
+        Path p = Paths.get(path);
+        DataDirectoryWatcher.forFile(p).subscribe(p, changed -> invalidate());
+    }
+
+    /**
+     * Parametrized constructor to keep in memory the adventures persisted by another DAO, whose encounters reference
+     * a cached monster catalog.
+     *
+     * @param dao the Data Access Object to decorate
+     * @param path a string representation of the file path where the decorated DAO persists the adventures
+     * @param monsters the cached monster catalog the encounters reference
+     * @throws IOException if the directory of the file can't be watched
+     */
+    public CachedAdventureDAO(AdventureDAO dao, String path, CachedMonsterDAO monsters) throws IOException {
+        this(dao, path);
+        monsters.addInvalidationListener(this::invalidate);
+    }
+
+    /**
+     * Method that reads the persisted information of all adventures, from memory unless the file has changed.
+     *
+     * @throws IOException if something goes wrong when querying the persisted data (reading from the file)
+     */
+    @Override
+    public synchronized ArrayList<Adventure> getAll() throws IOException {
+        if (adventures == null) {
+            adventures = dao.getAll();
+            reloads++;
+        }
+
+        ArrayList<Adventure> copies = new ArrayList<>(adventures.size());
+        for (Adventure adventure : adventures) {
+            copies.add(new Adventure(adventure));
+        }
+        return copies;
+    }
+
+    /**
+     * Method that saves a specific adventure, persisting its information.
+     *
+     * @param adventure the adventure to save
+     * @throws PersistenceException if something goes wrong when persisting (writing to the file)
+     */
+    @Override
+    public synchronized void save(Adventure adventure) throws PersistenceException, IOException {
+        dao.save(adventure);
+        if (adventures != null) {
+            adventures.add(new Adventure(adventure));
+        }
+        if (headers != null) {
+            headers.add(new AdventureHeader(adventure));
+        }
+    }
+
+    /**
+     * Method that reads the headers of all adventures, from memory unless the file has changed.
+     *
+     * @throws IOException if something goes wrong when querying the persisted data (reading from the file)
+     */
+    @Override
+    public synchronized ArrayList<AdventureHeader> getHeaders() throws IOException {
+        if (headers == null) {
+            headers = dao.getHeaders();
+        }
+        return new ArrayList<>(headers);
+    }
+
+    /**
+     * Method that reads the persisted information of a specific adventure, from memory if all the adventures are cached.
+     *
+     * @param name a string representation of the name to use in the query
+     * @throws IOException if something goes wrong when querying the persisted data (reading from the file)
+     */
+    @Override
+    public synchronized Adventure getByName(String name) throws IOException {
+        if (adventures == null) {
+            return dao.getByName(name);
+        }
+        for (Adventure adventure : adventures) {
+            if (name.equals(adventure.getName())) {
+                return new Adventure(adventure);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method that gets the number of times the adventures have been read from the decorated DAO.
+     *
+     * @return the number of reloads
+     */
+    public synchronized long getReloads() {
+        return reloads;
+    }
+
+    /**
+     * Method that forgets the cached adventures, so that the next read gets them from the decorated DAO.
+     */
+    public synchronized void invalidate() {
+        adventures = null;
+        headers = null;
+    }
+}
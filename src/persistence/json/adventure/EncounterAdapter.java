@@ -0,0 +1,164 @@
+package persistence.json.adventure;
+
+import business.entities.Encounter;
+import business.entities.Monster;
+import business.entities.MonsterTemplate;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import persistence.exceptions.PersistenceException;
+import persistence.json.monster.MonsterDAO;
+import persistence.json.monster.MonsterTemplateAdapter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class that converts encounters to and from JSON, storing the monsters of an encounter as references to the monster
+ * catalog instead of copies of their definitions.
+ *
+ * <p>An encounter is written as {@code {"monsters": [{"name": "Orc", "count": 3}, ...]}}, with one entry per different
+ * monster in the order they were added. When it's read, every entry is replaced by {@code count} monsters sharing the
+ * template with that name in the catalog. Encounters written before with a full copy of every monster are still read as they
+ * were, so both formats can be mixed in the same file.
+ *
+ * <p>Without a catalog, encounters are written with a full copy of every monster, and reading a reference fails.
+ * Full copies are read through {@link MonsterTemplateAdapter}, so their damage dice are parsed as they're read.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class EncounterAdapter extends TypeAdapter<Encounter> {
+
+    // Name of the field holding the monsters of an encounter
+    private static final String MONSTERS = "monsters";
+    // Names of the fields of a reference to a monster
+    private static final String NAME = "name";
+    private static final String COUNT = "count";
+
+    // Catalog the references are resolved against, or null to write full copies of the monsters
+    private final MonsterDAO catalog;
+    // Gson instance to read and write full copies of the monsters
+    private final Gson gson;
+
+    /**
+     * Parametrized constructor to convert encounters referencing the monsters of a catalog.
+     *
+     * @param catalog the Data Access Object of the monsters the references are resolved against, or null to write
+     *                full copies of the monsters
+     */
+    public EncounterAdapter(MonsterDAO catalog) {
+        this.catalog = catalog;
+        this.gson = new GsonBuilder().registerTypeAdapter(MonsterTemplate.class, new MonsterTemplateAdapter()).create();
+    }
+
+    /**
+     * Method that writes an encounter, referencing its monsters if there is a catalog.
+     *
+     * @param out the writer
+     * @param encounter the encounter to write
+     * @throws IOException if something goes wrong when writing
+     */
+    @Override
+    public void write(JsonWriter out, Encounter encounter) throws IOException {
+        if (encounter == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name(MONSTERS);
+        out.beginArray();
+        if (catalog == null) {
+            for (Monster monster : encounter.getMonsters()) {
+                gson.toJson(monster.getTemplate(), MonsterTemplate.class, out);
+            }
+        } else {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (Monster monster : encounter.getMonsters()) {
+                counts.merge(monster.getName(), 1, Integer::sum);
+            }
+            for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                out.beginObject();
+                out.name(NAME).value(count.getKey());
+                out.name(COUNT).value(count.getValue());
+                out.endObject();
+            }
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    /**
+     * Method that reads an encounter, whether its monsters are references or full copies.
+     *
+     * @param in the reader
+     * @return the encounter
+     * @throws IOException if something goes wrong when reading or the catalog can't be accessed
+     * @throws JsonParseException if a reference can't be resolved
+     */
+    @Override
+    public Encounter read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Encounter encounter = new Encounter();
+        in.beginObject();
+        while (in.hasNext()) {
+            if (!MONSTERS.equals(in.nextName())) {
+                in.skipValue();
+                continue;
+            }
+            in.beginArray();
+            while (in.hasNext()) {
+                JsonObject monster = JsonParser.parseReader(in).getAsJsonObject();
+                if (monster.has(COUNT)) {
+                    resolve(encounter, monster.get(NAME).getAsString(), monster.get(COUNT).getAsInt());
+                } else {
+                    encounter.getMonsters().add(new Monster(gson.fromJson(monster, MonsterTemplate.class)));
+                }
+            }
+            in.endArray();
+        }
+        in.endObject();
+        return encounter;
+    }
+
+    /**
+     * Method that adds the monsters a reference stands for to an encounter.
+     *
+     * @param encounter the encounter being read
+     * @param name the name of the monster
+     * @param count the number of monsters
+     * @throws IOException if the catalog can't be accessed
+     * @throws JsonParseException if there is no catalog or it doesn't have a monster with that name
+     */
+    private void resolve(Encounter encounter, String name, int count) throws IOException {
+        if (catalog == null) {
+            throw new JsonParseException("The encounter references the monster " + name + " but there is no monster catalog.");
+        }
+
+        MonsterTemplate template;
+        try {
+            template = catalog.getByName(name);
+        } catch (PersistenceException e) {
+            throw new IOException("Couldn't read the monster catalog.", e);
+        }
+        if (template == null) {
+            throw new JsonParseException("The encounter references the monster " + name + ", which isn't in the catalog.");
+        }
+
+        for (int i = 0; i < count; i++) {
+            encounter.getMonsters().add(new Monster(template));
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package persistence.json.character;
+
+import business.entities.Character;
+import persistence.exceptions.PersistenceException;
+import persistence.json.JsonFileLock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+
+/**
+ * Class that implements the methods described in the {@link CharacterDAO} interface by decorating another
+ * {@link CharacterDAO}, keeping the parsed characters in memory between calls.
+ *
+ * <p>Writes go through the decorated DAO and are applied to the cached characters as well. The characters are only
+ * read again from the decorated DAO when the modification time or the size of the file changes underneath it, and
+ * they are indexed by name so that lookups by name don't need to go through all of them.
+ *
+ * <p>Writes hold the file's {@link JsonFileLock} from the moment the cache is checked until the file is stamped again,
+ * so that a change made by another process can't slip in between and be taken for ours.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class CachedCharacterDAO implements CharacterDAO {
+
+    // Data Access Object that really persists the characters
+    private final CharacterDAO dao;
+    // Path to the file the decorated DAO persists the characters in
+    private final Path path;
+    // Lock shared with every other user of the file
+    private final JsonFileLock lock;
+    // Characters read from the decorated DAO, or null if they have to be read again
+    private CharacterIndex characters;
+    // Modification time and size of the file when the characters were read
+    private FileTime lastModified;
+    private long size;
+    // Number of reads answered from memory and number of reads that needed the decorated DAO
+    private long hits;
+    private long misses;
+
+    /**
+     * Parametrized constructor to keep in memory the characters persisted by another DAO.
+     *
+     * @param dao the Data Access Object to decorate
+     * @param path a string representation of the file path where the decorated DAO persists the characters
+     */
+    public CachedCharacterDAO(CharacterDAO dao, String path) {
+        this.dao = dao;
+        this.path = Paths.get(path);
+        this.lock = JsonFileLock.forPath(this.path);
+    }
+
+    /**
+     * Method that reads the persisted information of all characters.
+     *
+     * @throws IOException if something goes wrong when querying the persisted data (reading from the file)
+     */
+    @Override
+    public synchronized ArrayList<Character> getAll() throws IOException {
+        return load().getAll();
+    }
+
+    /**
+     * Method that saves a specific character, persisting its information.
+     *
+     * @param character the character to save
+     * @throws PersistenceException if something goes wrong when persisting (writing to the file)
+     */
+    @Override
+    public synchronized void save(Character character) throws PersistenceException, IOException {
+        write(() -> dao.save(character), () -> characters.put(character));
+    }
+
+    /**
+     * Method that reads the persisted information of a set of characters, specifically those that are owned by a specific player.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public synchronized ArrayList<Character> getByPlayerName(String playerName) throws IOException {
+        return load().getByPlayerName(playerName);
+    }
+
+    /**
+     * Method that reads a page of the characters owned by a specific player, copying only the characters in the page.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of characters to return
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public synchronized ArrayList<Character> getPageByPlayerName(String playerName, int offset, int limit) throws IOException {
+        return load().getPageByPlayerName(playerName, offset, limit);
+    }
+
+    /**
+     * Method that reads the names of a page of the characters owned by a specific player from the index.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of names to return
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public synchronized ArrayList<String> getNamesByPlayerName(String playerName, int offset, int limit) throws IOException {
+        return load().getNamesByPlayerName(playerName, offset, limit);
+    }
+
+    /**
+     * Method that deletes a specific character, removing its information.
+     *
+     * @param character the character to delete
+     * @throws PersistenceException if something goes wrong when persisting (reading from / writing to the file)
+     */
+    @Override
+    public synchronized void delete(Character character) throws PersistenceException, IOException {
+        write(() -> dao.delete(character), () -> characters.remove(character.getName()));
+    }
+
+    /**
+     * Method that reads the persisted information of a specific character, specifically the one with a specific name.
+     *
+     * @param name a string representation of the name to use in the query
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public synchronized Character getByCharacterName(String name) throws IOException {
+        return load().get(name);
+    }
+
+    /**
+     * Method that reads the persisted information of several characters, specifically the ones with the given names.
+     *
+     * @param names string representations of the names to use in the query
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public synchronized ArrayList<Character> getByCharacterNames(String[] names) throws IOException {
+        return load().get(names);
+    }
+
+    /**
+     * Method that updates a specific character, persisting its information.
+     *
+     * @param character the character to update
+     * @throws PersistenceException if something goes wrong when persisting (writing to the file)
+     */
+    @Override
+    public synchronized void update(Character character) throws PersistenceException {
+        try {
+            write(() -> dao.update(character), () -> characters.put(character));
+        } catch (IOException e) {
+            throw new PersistenceException("Couldn't lock the Characters file to update a Character.", e);
+        }
+    }
+
+    /**
+     * Method that updates several characters at once, persisting their information with a single write.
+     *
+     * @param characters the characters to update
+     * @throws PersistenceException if something goes wrong when persisting (writing to the file)
+     */
+    @Override
+    public synchronized void updateAll(ArrayList<Character> characters) throws PersistenceException {
+        try {
+            write(() -> dao.updateAll(characters), () -> {
+                for (Character character : characters) {
+                    this.characters.put(character);
+                }
+            });
+        } catch (IOException e) {
+            throw new PersistenceException("Couldn't lock the Characters file to update the Characters.", e);
+        }
+    }
+
+    /**
+     * Method that gets the number of reads answered without going to the decorated DAO.
+     *
+     * @return the number of cache hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Method that gets the number of reads that had to go to the decorated DAO.
+     *
+     * @return the number of cache misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Method that gets the cached characters, reading them from the decorated DAO if the file has changed.
+     *
+     * @return the cached characters
+     * @throws IOException if something goes wrong when reading the file
+     */
+    private CharacterIndex load() throws IOException {
+        if (isFresh()) {
+            hits++;
+        } else {
+            misses++;
+            // Stamped first, so that a change made while reading makes the next read load the characters again
+            stamp();
+            characters = new CharacterIndex(dao.getAll());
+        }
+        return characters;
+    }
+
+    /**
+     * Method that runs a write of the decorated DAO holding the file's lock, and applies it to the cached characters
+     * if they matched the file before the write.
+     *
+     * <p>If the write fails, or the file can't be stamped, the cached characters are forgotten and read again next time.
+     *
+     * @param write the write of the decorated DAO
+     * @param apply the same change, applied to the cached characters
+     * @throws PersistenceException if something goes wrong in the decorated DAO
+     * @throws IOException if something goes wrong when locking the file or in the decorated DAO
+     */
+    private void write(Write write, Runnable apply) throws PersistenceException, IOException {
+        PersistenceException[] failure = new PersistenceException[1];
+        lock.write(() -> {
+            boolean fresh;
+            try {
+                fresh = isFresh();
+            } catch (IOException e) {
+                fresh = false;
+            }
+            try {
+                write.run();
+            } catch (PersistenceException | IOException e) {
+                characters = null;
+                if (e instanceof IOException) {
+                    throw (IOException) e;
+                }
+                failure[0] = (PersistenceException) e;
+                return;
+            }
+            if (fresh) {
+                apply.run();
+                try {
+                    stamp();
+                } catch (IOException e) {
+                    characters = null;
+                }
+            } else {
+                characters = null;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+    /**
+     * Method that checks whether the cached characters still match the file.
+     *
+     * @return whether the file hasn't changed since the characters were read
+     * @throws IOException if something goes wrong when reading the file attributes
+     */
+    private boolean isFresh() throws IOException {
+        if (characters == null) {
+            return false;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        boolean fresh = attributes.lastModifiedTime().equals(lastModified) && attributes.size() == size;
+        if (!fresh) {
+            characters = null;
+        }
+        return fresh;
+    }
+
+    /**
+     * Interface for the writes of the decorated DAO.
+     */
+    private interface Write {
+
+        /**
+         * Method that does the write.
+         *
+         * @throws PersistenceException if something goes wrong when persisting
+         * @throws IOException if something goes wrong when reading or writing the file
+         */
+        void run() throws PersistenceException, IOException;
+    }
+
+    /**
+     * Method that remembers the current modification time and size of the file.
+     *
+     * @throws IOException if something goes wrong when reading the file attributes
+     */
+    private void stamp() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        lastModified = attributes.lastModifiedTime();
+        size = attributes.size();
+    }
+}
@@ -41,6 +41,30 @@ public interface CharacterDAO {
      */
     ArrayList<Character> getByPlayerName(String playerName) throws PersistenceException, IOException;
 
+    /**
+     * Method that reads a page of the characters owned by a specific player, in the same order as
+     * {@link #getByPlayerName(String)}, without reading the characters after the page.
+     *
+     * @param playerName a string representation of the name to use in the query (an empty one matches every player)
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of characters to return
+     * @return the characters in the page, which has less than limit characters if it's the last one
+     * @throws PersistenceException if something goes wrong when querying the persisted data
+     */
+    ArrayList<Character> getPageByPlayerName(String playerName, int offset, int limit) throws PersistenceException, IOException;
+
+    /**
+     * Method that reads only the names of a page of the characters owned by a specific player, in the same order as
+     * {@link #getByPlayerName(String)}, without building the characters.
+     *
+     * @param playerName a string representation of the name to use in the query (an empty one matches every player)
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of names to return
+     * @return string representations of the names of the characters in the page
+     * @throws PersistenceException if something goes wrong when querying the persisted data
+     */
+    ArrayList<String> getNamesByPlayerName(String playerName, int offset, int limit) throws PersistenceException, IOException;
+
     /**
      * Method that deletes a specific character, removing its information.
      *
@@ -57,6 +81,15 @@ public interface CharacterDAO {
      */
     Character getByCharacterName(String name) throws IOException;
 
+    /**
+     * Method that reads the persisted information of several characters, specifically the ones with the given names.
+     *
+     * @param names string representations of the names to use in the query
+     * @return the characters in the same order as the names, with null for the names that don't exist
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    ArrayList<Character> getByCharacterNames(String[] names) throws IOException;
+
     /**
      * Method that updates a specific character, persisting its information.
      *
@@ -64,4 +97,12 @@ public interface CharacterDAO {
      * @throws PersistenceException if something goes wrong when persisting (writing to the file)
      */
     void update(Character character) throws PersistenceException;
+
+    /**
+     * Method that updates several characters at once, persisting their information with a single write.
+     *
+     * @param characters the characters to update
+     * @throws PersistenceException if something goes wrong when persisting (writing to the file)
+     */
+    void updateAll(ArrayList<Character> characters) throws PersistenceException;
 }
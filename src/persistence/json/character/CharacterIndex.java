@@ -0,0 +1,298 @@
+package persistence.json.character;
+
+import business.entities.Character;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+
+/**
+ * Class that keeps a set of characters in memory, indexed by their name and by the trigrams of their player's name.
+ *
+ * <p>Characters keep the same order they would have in the JSON file: new and updated characters go to the end.
+ * The characters stored here are never handed out, only copies of them.
+ *
+ * <p>The trigram index maps every sequence of three characters found in a (lower case) player name to the names of
+ * the characters owned by that player, so that searching players by a piece of their name only needs to check the
+ * characters that share all the trigrams of the query.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+class CharacterIndex {
+
+    // Length of the pieces of text used by the player name index
+    private static final int GRAM = 3;
+
+    // Characters indexed by their name, in file order
+    private final LinkedHashMap<String, Entry> byName;
+    // Names of the characters indexed by the trigrams of their player's name
+    private final HashMap<String, HashSet<String>> byTrigram;
+    // Position given to the next character that is put in the index
+    private long nextPosition;
+
+    /**
+     * Parametrized constructor to index a set of characters.
+     *
+     * @param characters the characters to index
+     */
+    CharacterIndex(Collection<Character> characters) {
+        byName = new LinkedHashMap<>();
+        byTrigram = new HashMap<>();
+        for (Character character : characters) {
+            put(character);
+        }
+    }
+
+    /**
+     * Method that adds a character to the index, or replaces the one with the same name and moves it to the end.
+     *
+     * @param character the character to add
+     */
+    void put(Character character) {
+        remove(character.getName());
+        Entry entry = new Entry(new Character(character), nextPosition++);
+        byName.put(character.getName(), entry);
+        for (String trigram : trigrams(entry.player)) {
+            byTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(character.getName());
+        }
+    }
+
+    /**
+     * Method that removes the character with a specific name from the index.
+     *
+     * @param name a string representation of the character's name
+     */
+    void remove(String name) {
+        Entry entry = byName.remove(name);
+        if (entry != null) {
+            for (String trigram : trigrams(entry.player)) {
+                HashSet<String> names = byTrigram.get(trigram);
+                names.remove(name);
+                if (names.isEmpty()) {
+                    byTrigram.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method that checks whether a character with a specific name is indexed.
+     *
+     * @param name a string representation of the character's name
+     * @return whether the name is in the index or not
+     */
+    boolean contains(String name) {
+        return byName.containsKey(name);
+    }
+
+    /**
+     * Method that gets a copy of the character with a specific name.
+     *
+     * @param name a string representation of the character's name
+     * @return a copy of the character, or null if there is no character with that name
+     */
+    Character get(String name) {
+        Entry entry = byName.get(name);
+        return entry == null ? null : new Character(entry.character);
+    }
+
+    /**
+     * Method that gets a copy of the characters with the given names.
+     *
+     * @param names string representations of the characters' names
+     * @return copies of the characters in the same order as the names, with null for the names that don't exist
+     */
+    ArrayList<Character> get(String[] names) {
+        ArrayList<Character> characters = new ArrayList<>(names.length);
+        for (String name : names) {
+            characters.add(get(name));
+        }
+        return characters;
+    }
+
+    /**
+     * Method that gets a copy of all the indexed characters.
+     *
+     * @return copies of all the characters, in file order
+     */
+    ArrayList<Character> getAll() {
+        ArrayList<Character> characters = new ArrayList<>(byName.size());
+        for (Entry entry : byName.values()) {
+            characters.add(new Character(entry.character));
+        }
+        return characters;
+    }
+
+    /**
+     * Method that gets a copy of the characters whose player contains a text, ignoring case.
+     *
+     * @param playerName a string representation of the text to look for
+     * @return copies of the matching characters, in file order
+     */
+    ArrayList<Character> getByPlayerName(String playerName) {
+        return getPageByPlayerName(playerName, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Method that gets a copy of a page of the characters whose player contains a text, ignoring case.
+     *
+     * <p>Only the characters in the page are copied.
+     *
+     * @param playerName a string representation of the text to look for
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of characters to return
+     * @return copies of the matching characters in the page, in file order
+     */
+    ArrayList<Character> getPageByPlayerName(String playerName, int offset, int limit) {
+        ArrayList<Entry> matches = matches(playerName, offset, limit);
+        ArrayList<Character> filtered = new ArrayList<>(matches.size());
+        for (Entry entry : matches) {
+            filtered.add(new Character(entry.character));
+        }
+        return filtered;
+    }
+
+    /**
+     * Method that gets the names of a page of the characters whose player contains a text, ignoring case.
+     *
+     * @param playerName a string representation of the text to look for
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of names to return
+     * @return string representations of the names of the matching characters in the page, in file order
+     */
+    ArrayList<String> getNamesByPlayerName(String playerName, int offset, int limit) {
+        ArrayList<Entry> matches = matches(playerName, offset, limit);
+        ArrayList<String> names = new ArrayList<>(matches.size());
+        for (Entry entry : matches) {
+            names.add(entry.character.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Method that finds a page of the entries whose player contains a text, ignoring case.
+     *
+     * <p>Texts shorter than a trigram can't use the index, so the entries are checked in file order until the page
+     * is full. Otherwise, only the candidates of the index are checked.
+     *
+     * @param playerName a string representation of the text to look for
+     * @param offset the number of matching entries to skip
+     * @param limit the maximum number of entries to return
+     * @return the matching entries in the page, in file order
+     */
+    private ArrayList<Entry> matches(String playerName, int offset, int limit) {
+        String query = playerName.toLowerCase();
+        ArrayList<Entry> matches = new ArrayList<>();
+
+        if (query.length() < GRAM) {
+            int skipped = 0;
+            for (Entry entry : byName.values()) {
+                if (matches.size() >= limit) {
+                    break;
+                }
+                if (entry.player.contains(query)) {
+                    if (skipped < offset) {
+                        skipped++;
+                    } else {
+                        matches.add(entry);
+                    }
+                }
+            }
+        } else {
+            for (String name : candidates(query)) {
+                Entry entry = byName.get(name);
+                if (entry.player.contains(query)) {
+                    matches.add(entry);
+                }
+            }
+            matches.sort(Comparator.comparingLong(entry -> entry.position));
+            matches = new ArrayList<>(matches.subList(Math.min(offset, matches.size()),
+                    (int) Math.min((long) offset + limit, matches.size())));
+        }
+
+        return matches;
+    }
+
+    /**
+     * Method that gets the names of the characters whose player has all the trigrams of a text.
+     *
+     * @param query a lower case string representation of the text, with at least three characters
+     * @return the names of the candidate characters, which still have to be checked against the text
+     */
+    private HashSet<String> candidates(String query) {
+        HashSet<String> trigrams = trigrams(query);
+
+        // Start from the smallest set of names, as the result can't be bigger than it
+        HashSet<String> smallest = null;
+        for (String trigram : trigrams) {
+            HashSet<String> names = byTrigram.get(trigram);
+            if (names == null) {
+                return new HashSet<>();
+            }
+            if (smallest == null || names.size() < smallest.size()) {
+                smallest = names;
+            }
+        }
+
+        HashSet<String> candidates = new HashSet<>(smallest);
+        for (String trigram : trigrams) {
+            HashSet<String> names = byTrigram.get(trigram);
+            if (names != smallest) {
+                candidates.retainAll(names);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Method that splits a text into all the trigrams it contains.
+     *
+     * @param text a lower case string representation of the text
+     * @return the distinct trigrams of the text, which is empty if the text is shorter than a trigram
+     */
+    private static HashSet<String> trigrams(String text) {
+        HashSet<String> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + GRAM));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Method that gets the number of indexed characters.
+     *
+     * @return the number of characters
+     */
+    int size() {
+        return byName.size();
+    }
+
+    /**
+     * Class that holds an indexed character together with the information the indexes need from it.
+     */
+    private static class Entry {
+
+        // The indexed character
+        private final Character character;
+        // Lower case representation of the character's player
+        private final String player;
+        // Position of the character in file order
+        private final long position;
+
+        /**
+         * Parametrized constructor to index a character.
+         *
+         * @param character the character to index
+         * @param position the position of the character in file order
+         */
+        private Entry(Character character, long position) {
+            this.character = character;
+            this.player = character.getPlayer().toLowerCase();
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package persistence.json.character;
+
+import business.entities.Character;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import persistence.exceptions.PersistenceException;
+import persistence.json.JsonArrayStream;
+import persistence.json.JsonFiles;
+import persistence.json.codec.Codec;
+import persistence.json.codec.Codecs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Class that implements the methods described in the {@link CharacterDAO} interface, persisting characters as a JSON
+ * snapshot plus an append-only journal of the changes made since the snapshot was written.
+ *
+ * <p>Every change appends a single line to the journal with the following shape, where the checksum is the CRC-32 of
+ * everything after the first space:
+ *
+ * <pre>
+ * &lt;checksum&gt; &lt;SAVE|UPDATE|DELETE&gt; &lt;compact JSON character&gt;
+ * &lt;checksum&gt; UPDATE_ALL &lt;compact JSON array of characters&gt;
+ * </pre>
+ *
+ * <p>When opened, the snapshot is read and the journal is replayed on top of it. A line with a wrong checksum can only
+ * be the result of a write that didn't finish, so it is discarded together with everything after it. Once the journal
+ * grows past a threshold, it is folded back into the snapshot in the background.
+ *
+ * <p>The snapshot is written with a {@link Codec} (the one it already has, or pretty printed JSON if it's new) and can
+ * be read whatever codec it was written with.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class CharacterJournalDAO implements CharacterDAO {
+
+    // Size of the journal (in bytes) after which it's folded into the snapshot by default
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 1024 * 1024;
+
+    // Operations that can be found in the journal
+    private static final String SAVE = "SAVE";
+    private static final String UPDATE = "UPDATE";
+    private static final String DELETE = "DELETE";
+    private static final String UPDATE_ALL = "UPDATE_ALL";
+
+    // Path to the file with the snapshot of the characters, which has the same format as the JSON DAO's one
+    private final Path snapshot;
+    // Path to the file with the changes made since the snapshot
+    private final Path journal;
+    // Size of the journal (in bytes) after which it's folded into the snapshot
+    private final long compactionThreshold;
+    // Codec used to write the snapshot
+    private final Codec codec;
+    // Gson instance used to convert the characters in the snapshot and the journal
+    private final Gson gson;
+    // Current state of the characters, with every journaled change applied
+    private final CharacterIndex characters;
+    // Channel used to append changes to the journal
+    private FileChannel journalChannel;
+    // Thread where the journal is folded into the snapshot
+    private final ExecutorService compactor;
+    // Last compaction requested, or null if none is pending
+    private Future<?> compaction;
+
+    /**
+     * Parametrized constructor to persist characters in a snapshot and a journal, with the default compaction threshold.
+     *
+     * @param snapshotPath a string representation of the path of the snapshot (which is created if it doesn't exist)
+     * @param journalPath a string representation of the path of the journal (which is created if it doesn't exist)
+     * @throws PersistenceException if something goes wrong when opening/creating or replaying the files
+     */
+    public CharacterJournalDAO(String snapshotPath, String journalPath) throws PersistenceException {
+        this(snapshotPath, journalPath, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Parametrized constructor to persist characters in a snapshot and a journal.
+     *
+     * @param snapshotPath a string representation of the path of the snapshot (which is created if it doesn't exist)
+     * @param journalPath a string representation of the path of the journal (which is created if it doesn't exist)
+     * @param compactionThreshold the size of the journal (in bytes) after which it's folded into the snapshot
+     * @throws PersistenceException if something goes wrong when opening/creating or replaying the files
+     */
+    public CharacterJournalDAO(String snapshotPath, String journalPath, long compactionThreshold) throws PersistenceException {
+        this(snapshotPath, journalPath, Codecs.detect(snapshotPath, Codecs.PRETTY_JSON), compactionThreshold);
+    }
+
+    /**
+     * Parametrized constructor to persist characters in a snapshot written with a specific codec and a journal.
+     *
+     * @param snapshotPath a string representation of the path of the snapshot (which is created if it doesn't exist)
+     * @param journalPath a string representation of the path of the journal (which is created if it doesn't exist)
+     * @param codec the codec used to write the snapshot
+     * @param compactionThreshold the size of the journal (in bytes) after which it's folded into the snapshot
+     * @throws PersistenceException if something goes wrong when opening/creating or replaying the files
+     */
+    public CharacterJournalDAO(String snapshotPath, String journalPath, Codec codec, long compactionThreshold) throws PersistenceException {
+        try {
+            this.snapshot = Paths.get(snapshotPath);
+            this.journal = Paths.get(journalPath);
+            this.compactionThreshold = compactionThreshold;
+            this.codec = codec;
+            this.gson = new Gson();
+
+            if (!Files.exists(snapshot)) {
+                Files.createFile(snapshot);
+            }
+            this.characters = new CharacterIndex(readSnapshot());
+            replay();
+            this.journalChannel = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (InvalidPathException | IOException | JsonParseException e) {
+            throw new PersistenceException("Couldn't create a Character DAO (journal implementation) with path: " + snapshotPath + ".", e);
+        }
+
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "character-journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Method that reads the persisted information of all characters.
+     *
+     */
+    @Override
+    public synchronized ArrayList<Character> getAll() {
+        return characters.getAll();
+    }
+
+    /**
+     * Method that saves a specific character, persisting its information.
+     *
+     * @param character the character to save
+     * @throws PersistenceException if something goes wrong when persisting (writing to the journal)
+     */
+    @Override
+    public synchronized void save(Character character) throws PersistenceException {
+        append(SAVE, character);
+        characters.put(character);
+    }
+
+    /**
+     * Method that reads the persisted information of a set of characters, specifically those that are owned by a specific player.
+     *
+     * @param playerName a string representation of the name to use in the query
+     */
+    @Override
+    public synchronized ArrayList<Character> getByPlayerName(String playerName) {
+        return characters.getByPlayerName(playerName);
+    }
+
+    /**
+     * Method that reads a page of the characters owned by a specific player.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of characters to return
+     */
+    @Override
+    public synchronized ArrayList<Character> getPageByPlayerName(String playerName, int offset, int limit) {
+        return characters.getPageByPlayerName(playerName, offset, limit);
+    }
+
+    /**
+     * Method that reads the names of a page of the characters owned by a specific player.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of names to return
+     */
+    @Override
+    public synchronized ArrayList<String> getNamesByPlayerName(String playerName, int offset, int limit) {
+        return characters.getNamesByPlayerName(playerName, offset, limit);
+    }
+
+    /**
+     * Method that deletes a specific character, removing its information.
+     *
+     * @param character the character to delete
+     * @throws PersistenceException if something goes wrong when persisting (writing to the journal)
+     */
+    @Override
+    public synchronized void delete(Character character) throws PersistenceException {
+        append(DELETE, character);
+        characters.remove(character.getName());
+    }
+
+    /**
+     * Method that reads the persisted information of a specific character, specifically the one with a specific name.
+     *
+     * @param name a string representation of the name to use in the query
+     */
+    @Override
+    public synchronized Character getByCharacterName(String name) {
+        return characters.get(name);
+    }
+
+    /**
+     * Method that reads the persisted information of several characters, specifically the ones with the given names.
+     *
+     * @param names string representations of the names to use in the query
+     */
+    @Override
+    public synchronized ArrayList<Character> getByCharacterNames(String[] names) {
+        return characters.get(names);
+    }
+
+    /**
+     * Method that updates a specific character, persisting its information.
+     *
+     * @param character the character to update
+     * @throws PersistenceException if something goes wrong when persisting (writing to the journal)
+     */
+    @Override
+    public synchronized void update(Character character) throws PersistenceException {
+        append(UPDATE, character);
+        characters.put(character);
+    }
+
+    /**
+     * Method that updates several characters at once, journaling them in a single line so they are applied together.
+     *
+     * @param characters the characters to update
+     * @throws PersistenceException if something goes wrong when persisting (writing to the journal)
+     */
+    @Override
+    public synchronized void updateAll(ArrayList<Character> characters) throws PersistenceException {
+        append(UPDATE_ALL, characters);
+        for (Character character : characters) {
+            this.characters.put(character);
+        }
+    }
+
+    /**
+     * Method that folds the journal into the snapshot right away, waiting until it's done.
+     *
+     * @throws PersistenceException if something goes wrong when writing the snapshot or the journal
+     */
+    public void compact() throws PersistenceException {
+        try {
+            compactor.submit(() -> {
+                fold();
+                return null;
+            }).get();
+        } catch (RejectedExecutionException e) {
+            throw new PersistenceException("Couldn't compact the character journal, as it's closed.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("Couldn't compact the character journal.", e);
+        } catch (ExecutionException e) {
+            Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            throw new PersistenceException("Couldn't compact the character journal.", cause);
+        }
+    }
+
+    /**
+     * Method that waits for the compaction in progress (if any), stops the compactor thread and closes the journal.
+     *
+     * <p>Every change is already on disk, so nothing is lost; changes made after closing fail.
+     *
+     * @throws PersistenceException if something goes wrong when closing the journal
+     */
+    public void close() throws PersistenceException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            try {
+                journalChannel.close();
+            } catch (IOException e) {
+                throw new PersistenceException("Couldn't close the character journal.", e);
+            }
+        }
+    }
+
+    /**
+     * Method that appends a change to the journal, forcing it to disk, and requests a compaction if it grew too much.
+     *
+     * @param operation a string representation of the operation
+     * @param payload the character (or characters) involved in the operation
+     * @throws PersistenceException if something goes wrong when writing to the journal
+     */
+    private void append(String operation, Object payload) throws PersistenceException {
+        try {
+            journalChannel.write(ByteBuffer.wrap(record(operation, payload)));
+            journalChannel.force(false);
+
+            if (journalChannel.size() > compactionThreshold && (compaction == null || compaction.isDone())) {
+                compaction = compactor.submit(() -> {
+                    fold();
+                    return null;
+                });
+            }
+        } catch (IOException e) {
+            throw new PersistenceException("Couldn't journal a Character (" + operation + ").", e);
+        }
+    }
+
+    /**
+     * Method that builds the journal line for a change.
+     *
+     * @param operation a string representation of the operation
+     * @param payload the character (or characters) involved in the operation
+     * @return the bytes of the line, including the line break
+     */
+    private byte[] record(String operation, Object payload) {
+        byte[] body = (operation + " " + gson.toJson(payload)).getBytes(StandardCharsets.UTF_8);
+        String checksum = String.format("%08x ", checksum(body, 0, body.length));
+
+        ByteArrayOutputStream line = new ByteArrayOutputStream(body.length + 10);
+        line.writeBytes(checksum.getBytes(StandardCharsets.US_ASCII));
+        line.writeBytes(body);
+        line.write('\n');
+        return line.toByteArray();
+    }
+
+    /**
+     * Method that writes the current state as the new snapshot and removes the folded changes from the journal.
+     *
+     * <p>The snapshot is written without blocking the callers; only swapping the journal does.
+     *
+     * @throws IOException if something goes wrong when writing the snapshot or the journal
+     */
+    private void fold() throws IOException {
+        ArrayList<Character> state;
+        long folded;
+        synchronized (this) {
+            state = characters.getAll();
+            folded = journalChannel.size();
+        }
+
+        JsonFiles.writeArray(snapshot, gson.toJsonTree(state).getAsJsonArray(), codec);
+
+        synchronized (this) {
+            // Keep whatever was journaled while the snapshot was being written
+            byte[] pending;
+            try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) (channel.size() - folded));
+                channel.read(buffer, folded);
+                pending = buffer.array();
+            }
+            JsonFiles.writeAtomically(journal, pending);
+            journalChannel.close();
+            journalChannel = FileChannel.open(journal, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+    }
+
+    /**
+     * Method that reads the characters in the snapshot.
+     *
+     * @return the characters in the snapshot
+     * @throws IOException if something goes wrong when reading the file
+     */
+    private ArrayList<Character> readSnapshot() throws IOException {
+        return JsonArrayStream.readAll(snapshot, gson, Character.class);
+    }
+
+    /**
+     * Method that applies every valid line of the journal to the characters, discarding a torn tail if there is one.
+     *
+     * @throws IOException if something goes wrong when reading or truncating the journal
+     */
+    private void replay() throws IOException {
+        if (!Files.exists(journal)) {
+            return;
+        }
+
+        byte[] content = Files.readAllBytes(journal);
+        int valid = 0;
+        int start = 0;
+        while (start < content.length) {
+            int end = start;
+            while (end < content.length && content[end] != '\n') {
+                end++;
+            }
+            if (end == content.length || !apply(content, start, end)) {
+                break;
+            }
+            start = end + 1;
+            valid = start;
+        }
+
+        if (valid < content.length) {
+            try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+            }
+        }
+    }
+
+    /**
+     * Method that applies a journal line to the characters if its checksum is right.
+     *
+     * @param content the bytes of the journal
+     * @param start the index of the first byte of the line
+     * @param end the index of the line break that ends the line
+     * @return whether the line was valid and could be applied
+     */
+    private boolean apply(byte[] content, int start, int end) {
+        int bodyStart = start + 9;
+        if (bodyStart > end || content[bodyStart - 1] != ' ') {
+            return false;
+        }
+
+        long expected;
+        try {
+            expected = Long.parseLong(new String(content, start, 8, StandardCharsets.US_ASCII), 16);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (expected != checksum(content, bodyStart, end - bodyStart)) {
+            return false;
+        }
+
+        String body = new String(content, bodyStart, end - bodyStart, StandardCharsets.UTF_8);
+        int space = body.indexOf(' ');
+        if (space < 0) {
+            return false;
+        }
+        String payload = body.substring(space + 1);
+        switch (body.substring(0, space)) {
+            case SAVE:
+            case UPDATE:
+                characters.put(gson.fromJson(payload, Character.class));
+                break;
+            case DELETE:
+                characters.remove(gson.fromJson(payload, Character.class).getName());
+                break;
+            case UPDATE_ALL:
+                Type listType = new TypeToken<ArrayList<Character>>(){}.getType();
+                ArrayList<Character> updated = gson.fromJson(payload, listType);
+                for (Character character : updated) {
+                    characters.put(character);
+                }
+                break;
+            default:
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Method that computes the CRC-32 of a range of bytes.
+     *
+     * @param bytes the bytes to check
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return the checksum
+     */
+    private static long checksum(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return crc.getValue();
+    }
+}
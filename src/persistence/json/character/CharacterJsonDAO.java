@@ -2,21 +2,30 @@ package persistence.json.character;
 
 import business.entities.Character;
 import com.google.gson.*;
-import com.google.gson.reflect.TypeToken;
 import persistence.exceptions.PersistenceException;
+import persistence.json.GroupCommitWriter;
+import persistence.json.JsonArrayStream;
+import persistence.json.JsonFileLock;
+import persistence.json.JsonFiles;
+import persistence.json.codec.Codec;
+import persistence.json.codec.Codecs;
+import persistence.json.codec.ElementReader;
 
 import java.awt.*;
 import java.io.FileReader;
 import java.io.IOException;
-import java.lang.reflect.Type;
 import java.nio.file.InvalidPathException;
 import java.util.ArrayList;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
 
 /**
@@ -25,34 +34,96 @@ import java.util.Set;
  *
  * <p>Specifically, it implements the monster persistence in a JSON file.
  *
+ * <p>In write-behind mode, changes are queued and written to the file by a background {@link GroupCommitWriter}
+ * instead of on the caller's thread; {@link #flushed()} tells the caller when they are on disk.
+ *
+ * <p>Reads and writes are coordinated with other threads and processes using the same file through a
+ * {@link JsonFileLock}: reads run in parallel, while every change reads the file, applies itself and replaces the file
+ * atomically without any other change in between.
+ *
+ * <p>The file is written with a {@link Codec} (pretty printed JSON by default) and can be read whatever codec it was
+ * written with, so a file can be migrated to another format without changing how it's opened.
+ *
  * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
  * @version 1.0
  */
 public class CharacterJsonDAO implements CharacterDAO {
 
+    // Properties read when only the names of the characters are needed
+    private static final Set<String> NAME_FIELDS = Set.of("name", "player");
+
     // Path to the file where the students will be persisted
     private final Path path;
     // Gson instance to help when persisting
     private final Gson gson;
+    // Codec used to write the file
+    private final Codec codec;
+    // Lock shared with every other user of the file
+    private final JsonFileLock lock;
+    // Writer that persists changes in the background, or null if they are written on the caller's thread
+    private final GroupCommitWriter<Character> writer;
 
 
     /**
      * Parametrized constructor to persist characters in a JSON file, while being able to read character information.
      *
+     * <p>The file is written back in the format it already has, or as pretty printed JSON if it's new.
+     *
      * @param path a string representation of the file path to open (or create if it doesn't exist)
      * @throws PersistenceException if something goes wrong when opening/creating the file (including but not limited to the path being malformed)
      */
     public CharacterJsonDAO(String path) throws PersistenceException {
+        this(path, Codecs.detect(path, Codecs.PRETTY_JSON));
+    }
+
+    /**
+     * Parametrized constructor to persist characters in a file written with a specific codec.
+     *
+     * @param path a string representation of the file path to open (or create if it doesn't exist)
+     * @param codec the codec used to write the file
+     * @throws PersistenceException if something goes wrong when opening/creating the file (including but not limited to the path being malformed)
+     */
+    public CharacterJsonDAO(String path, Codec codec) throws PersistenceException {
+        this(path, codec, 0, 0);
+    }
+
+    /**
+     * Parametrized constructor to persist characters in a JSON file in write-behind mode.
+     *
+     * <p>The file is written back in the format it already has, or as pretty printed JSON if it's new.
+     *
+     * @param path a string representation of the file path to open (or create if it doesn't exist)
+     * @param flushMillis the number of milliseconds between writes to the file
+     * @param flushOperations the number of queued changes that triggers a write without waiting
+     * @throws PersistenceException if something goes wrong when opening/creating the file (including but not limited to the path being malformed)
+     */
+    public CharacterJsonDAO(String path, long flushMillis, int flushOperations) throws PersistenceException {
+        this(path, Codecs.detect(path, Codecs.PRETTY_JSON), flushMillis, flushOperations);
+    }
+
+    /**
+     * Parametrized constructor to persist characters in a file written with a specific codec, in write-behind mode if
+     * a flush interval is given.
+     *
+     * @param path a string representation of the file path to open (or create if it doesn't exist)
+     * @param codec the codec used to write the file
+     * @param flushMillis the number of milliseconds between writes to the file, or 0 to write on the caller's thread
+     * @param flushOperations the number of queued changes that triggers a write without waiting
+     * @throws PersistenceException if something goes wrong when opening/creating the file (including but not limited to the path being malformed)
+     */
+    public CharacterJsonDAO(String path, Codec codec, long flushMillis, int flushOperations) throws PersistenceException {
         try {
             Path p = Paths.get(path);
 
             if (!Files.exists(p)) {
                 Files.createFile(p);
-
             }
 
             this.path = p;
             this.gson = new GsonBuilder().setPrettyPrinting().create();
+            this.codec = codec;
+            this.lock = JsonFileLock.forPath(p);
+            this.writer = flushMillis > 0 ? new GroupCommitWriter<>(p, gson, Character.class, codec, flushMillis, flushOperations) : null;
 
         } catch (InvalidPathException | IOException e) {
             throw new PersistenceException("Couldn't create a Character DAO (JSON implementation) with path: " + path + ".", e);
@@ -60,21 +131,36 @@ public class CharacterJsonDAO implements CharacterDAO {
     }
 
     /**
-     * Method that reads the persisted information of all characters.
+     * Method that gets a future that completes once every change made so far is on disk.
      *
+     * @return the future, which is already completed if changes are written on the caller's thread
      */
-    @Override
-    public ArrayList<Character> getAll() throws IOException {
-
-        String charactersString = Files.readString(path);
-        Type listType = new TypeToken<ArrayList<Character>>(){}.getType();
-        ArrayList<Character> all = gson.fromJson(charactersString, listType);
+    public CompletableFuture<Void> flushed() {
+        return writer == null ? CompletableFuture.completedFuture(null) : writer.flushed();
+    }
 
-        if (all == null){
-            all = new ArrayList<>();
+    /**
+     * Method that writes every queued change and stops writing in the background.
+     *
+     * @throws PersistenceException if something goes wrong when writing the queued changes
+     */
+    public void close() throws PersistenceException {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new PersistenceException("Couldn't write the queued Characters.", e);
+            }
         }
+    }
 
-        return all;
+    /**
+     * Method that reads the persisted information of all characters.
+     *
+     */
+    @Override
+    public ArrayList<Character> getAll() throws IOException {
+        return read(character -> true);
     }
 
     /**
@@ -85,40 +171,84 @@ public class CharacterJsonDAO implements CharacterDAO {
     @Override
     public void save(Character character) throws IOException, PersistenceException {
 
-        JsonArray characters;
-        JsonObject characterJson = gson.toJsonTree(character).getAsJsonObject();
-        try {
-            characters = JsonParser.parseString(Files.readString(path)).getAsJsonArray();
-        }catch (IllegalStateException e){
-            characters = new JsonArray();
+        if (writer != null) {
+            Character copy = writer.copy(character);
+            writer.submit(all -> all.add(copy));
+            return;
         }
-        characters.add(characterJson);
 
+        JsonObject characterJson = gson.toJsonTree(character).getAsJsonObject();
         try {
-            Files.writeString(path, gson.toJson(characters));
+            lock.write(() -> {
+                JsonArray characters = JsonFiles.readArray(path);
+                characters.add(characterJson);
+                JsonFiles.writeArray(path, characters, codec);
+            });
         } catch (IOException e) {
             throw new PersistenceException("Couldn't save a Student (JSON implementation).", e);
         }
     }
 
+    /**
+     * Method that reads the persisted information of a set of characters, specifically those that are owned by a specific player.
+     *
+     * <p>The file is read one character at a time, so only the matching characters are kept in memory.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
     @Override
     public ArrayList<Character> getByPlayerName(String playerName) throws IOException {
-        ArrayList<Character> filtered = new ArrayList<>();
-        String charactersString = Files.readString(path);
-        Type listType = new TypeToken<ArrayList<Character>>(){}.getType();
-        ArrayList<Character> all = gson.fromJson(charactersString, listType);
+        String query = playerName.toLowerCase();
+        return read(character -> character.getPlayer().toLowerCase().contains(query));
+    }
 
-        if (all == null){
-            all = new ArrayList<>();
+    /**
+     * Method that reads a page of the characters owned by a specific player.
+     *
+     * <p>The file is read one character at a time and only up to the end of the page.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of characters to return
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public ArrayList<Character> getPageByPlayerName(String playerName, int offset, int limit) throws IOException {
+        String query = playerName.toLowerCase();
+        Predicate<Character> filter = character -> character.getPlayer().toLowerCase().contains(query);
+        if (writer == null) {
+            return lock.read(() -> JsonArrayStream.page(path, gson, Character.class, filter, offset, limit));
         }
 
-        for (int i = 0; i < all.size(); i++) {
-            if(all.get(i).getPlayer().toLowerCase().contains(playerName.toLowerCase())){
-                filtered.add(all.get(i));
+        ArrayList<Character> filtered = read(filter);
+        return new ArrayList<>(filtered.subList(Math.min(offset, filtered.size()),
+                (int) Math.min((long) offset + limit, filtered.size())));
+    }
+
+    /**
+     * Method that reads the names of a page of the characters owned by a specific player.
+     *
+     * <p>Only the name and player of every character are read from the file, the rest of its properties are skipped
+     * without building a character, and the file is only read up to the end of the page.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of names to return
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public ArrayList<String> getNamesByPlayerName(String playerName, int offset, int limit) throws IOException {
+        String query = playerName.toLowerCase();
+        ArrayList<String> names = new ArrayList<>();
+        if (writer != null) {
+            for (Character character : getPageByPlayerName(playerName, offset, limit)) {
+                names.add(character.getName());
             }
+            return names;
         }
 
-        return filtered;
+        return lock.read(() -> readNames(query, offset, limit));
     }
 
     /**
@@ -129,22 +259,21 @@ public class CharacterJsonDAO implements CharacterDAO {
      */
     public void delete(Character character) throws PersistenceException, IOException {
 
-        String charactersString = Files.readString(path);
-        Type listType = new TypeToken<ArrayList<Character>>(){}.getType();
-        ArrayList<Character> all = gson.fromJson(charactersString, listType);
-        for (int i = 0; i < all.size(); i++) {
-            if(Objects.equals(all.get(i).getName(), character.getName())){
-                all.remove(i);
-            }
+        String name = character.getName();
+        if (writer != null) {
+            writer.submit(all -> all.removeIf(c -> Objects.equals(c.getName(), name)));
+            return;
         }
-        JsonArray jsonArray = gson.toJsonTree(all).getAsJsonArray();
 
         try {
-            Files.writeString(path, gson.toJson(jsonArray));
+            lock.write(() -> {
+                ArrayList<Character> all = JsonArrayStream.readAll(path, gson, Character.class);
+                all.removeIf(c -> Objects.equals(c.getName(), name));
+                JsonFiles.writeArray(path, gson.toJsonTree(all).getAsJsonArray(), codec);
+            });
         } catch (IOException e) {
             throw new PersistenceException("Couldn't delete a Character).", e);
         }
-
     }
 
     /**
@@ -154,24 +283,31 @@ public class CharacterJsonDAO implements CharacterDAO {
      * @throws IOException if something goes wrong when querying the persisted data
      */
     public Character getByCharacterName(String name) throws IOException {
+        ArrayList<Character> found = read(character -> character.getName().equals(name));
 
-        String charactersString = Files.readString(path);
-        Type listType = new TypeToken<ArrayList<Character>>() {
-        }.getType();
-        ArrayList<Character> all = gson.fromJson(charactersString, listType);
+        return found.isEmpty() ? null : found.get(found.size() - 1);
+    }
 
-        if (all == null) {
-            all = new ArrayList<>();
+    /**
+     * Method that reads the persisted information of several characters, specifically the ones with the given names.
+     *
+     * @param names string representations of the names to use in the query
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public ArrayList<Character> getByCharacterNames(String[] names) throws IOException {
+        HashSet<String> wanted = new HashSet<>(Arrays.asList(names));
+        HashMap<String, Character> byName = new HashMap<>();
+        for (Character character : read(character -> wanted.contains(character.getName()))) {
+            byName.put(character.getName(), character);
         }
 
-        Character character = null;
-        for (int i = 0; i < all.size(); i++) {
-            if (all.get(i).getName().equals(name)) {
-                character = all.get(i);
-            }
+        ArrayList<Character> characters = new ArrayList<>(names.length);
+        for (String name : names) {
+            characters.add(byName.get(name));
         }
 
-        return character;
+        return characters;
     }
 
     /**
@@ -181,25 +317,137 @@ public class CharacterJsonDAO implements CharacterDAO {
      * @throws PersistenceException if something goes wrong when persisting (writing to the file)
      */
     public void update(Character character) throws PersistenceException {
-        JsonArray characters;
+        if (writer != null) {
+            Character copy = writer.copy(character);
+            try {
+                writer.submit(all -> {
+                    all.removeIf(c -> c.getName().equals(copy.getName()));
+                    all.add(copy);
+                });
+            } catch (IOException e) {
+                throw new PersistenceException("Couldn't update a Character", e);
+            }
+            return;
+        }
+
         JsonObject characterJson = gson.toJsonTree(character).getAsJsonObject();
         try {
-            characters = JsonParser.parseString(Files.readString(path)).getAsJsonArray();
-        }catch (IllegalStateException | IOException e){
-            characters = new JsonArray();
+            lock.write(() -> {
+                JsonArray characters = JsonFiles.readArray(path);
+                for (int i = characters.size() - 1; i >= 0; i--) {
+                    if(characters.get(i).getAsJsonObject().get("name").getAsString().equals(character.getName())){
+                        characters.remove(i);
+                    }
+                }
+                characters.add(characterJson);
+                JsonFiles.writeArray(path, characters, codec);
+            });
+        } catch (IOException e) {
+            throw new PersistenceException("Couldn't update a Character", e);
         }
-        for (int i = 0; i < characters.size(); i++) {
-            if(characters.get(i).getAsJsonObject().get("name").getAsString().equals(character.getName())){
-                characters.remove(i);
+    }
+
+    /**
+     * Method that updates several characters at once, reading the file once and replacing it atomically.
+     *
+     * @param characters the characters to update
+     * @throws PersistenceException if something goes wrong when persisting (writing to the file)
+     */
+    @Override
+    public void updateAll(ArrayList<Character> characters) throws PersistenceException {
+        if (writer != null) {
+            ArrayList<Character> copies = new ArrayList<>();
+            for (Character character : characters) {
+                copies.add(writer.copy(character));
+            }
+            try {
+                writer.submit(all -> {
+                    for (Character copy : copies) {
+                        all.removeIf(c -> c.getName().equals(copy.getName()));
+                        all.add(copy);
+                    }
+                });
+            } catch (IOException e) {
+                throw new PersistenceException("Couldn't update the Characters", e);
             }
+            return;
+        }
+
+        HashSet<String> names = new HashSet<>();
+        for (Character character : characters) {
+            names.add(character.getName());
         }
-        characters.add(characterJson);
 
         try {
-            Files.writeString(path, gson.toJson(characters));
+            lock.write(() -> {
+                JsonArray updated = new JsonArray();
+                for (JsonElement element : JsonFiles.readArray(path)) {
+                    if (!names.contains(element.getAsJsonObject().get("name").getAsString())) {
+                        updated.add(element);
+                    }
+                }
+                for (Character character : characters) {
+                    updated.add(gson.toJsonTree(character));
+                }
+                JsonFiles.writeArray(path, updated, codec);
+            });
         } catch (IOException e) {
-            throw new PersistenceException("Couldn't update a Character", e);
+            throw new PersistenceException("Couldn't update the Characters", e);
+        }
+    }
+
+    /**
+     * Method that reads the names of a page of the characters whose player contains a text, skipping the rest of
+     * their properties.
+     *
+     * @param query a lower case string representation of the text to look for
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of names to return
+     * @return string representations of the names of the characters in the page, in file order
+     * @throws IOException if something goes wrong when reading the file or a character is malformed
+     */
+    private ArrayList<String> readNames(String query, int offset, int limit) throws IOException {
+        ArrayList<String> names = new ArrayList<>();
+        int skipped = 0;
+        try (ElementReader reader = Codecs.open(path)) {
+            while (names.size() < limit && reader.hasNext()) {
+                JsonObject fields = reader.nextFields(NAME_FIELDS);
+                if (!fields.has("name") || !fields.has("player")) {
+                    throw new IOException("Character without a name or a player in " + path + ".");
+                }
+                if (fields.get("player").getAsString().toLowerCase().contains(query)) {
+                    if (skipped < offset) {
+                        skipped++;
+                    } else {
+                        names.add(fields.get("name").getAsString());
+                    }
+                }
+            }
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+            throw new IOException("Malformed character in " + path + ".", e);
+        }
+        return names;
+    }
+
+    /**
+     * Method that reads the characters that pass a filter, including the queued changes in write-behind mode.
+     *
+     * @param filter the condition a character has to meet to be kept
+     * @return the characters that passed the filter, in file order
+     * @throws IOException if something goes wrong when reading the file
+     */
+    private ArrayList<Character> read(Predicate<Character> filter) throws IOException {
+        if (writer == null) {
+            return lock.read(() -> JsonArrayStream.filter(path, gson, Character.class, filter));
         }
+
+        ArrayList<Character> filtered = new ArrayList<>();
+        for (Character character : writer.read()) {
+            if (filter.test(character)) {
+                filtered.add(character);
+            }
+        }
+        return filtered;
     }
 
 }
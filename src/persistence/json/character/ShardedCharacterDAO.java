@@ -0,0 +1,516 @@
+package persistence.json.character;
+
+import business.entities.Character;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import persistence.exceptions.PersistenceException;
+import persistence.json.JsonFiles;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Class that implements the methods described in the {@link CharacterDAO} interface, partitioning the characters into
+ * several JSON files (shards) by a hash of their player's name.
+ *
+ * <p>A small manifest in the same directory records the number of shards and their generation, which is part of the
+ * shard file names. All the characters of a player live in the same shard, so looking up a player by their exact name
+ * or changing one of their characters only reads and writes that shard. Queries by part of a player's name or by
+ * character name still go through every shard.
+ *
+ * <p>The characters can be redistributed into a different number of shards while the DAO is in use with
+ * {@link #reshard(int)}: the new shards are written under a new generation and the manifest is swapped atomically.
+ * {@code presentation.CharacterReshard} does the same from the command line.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class ShardedCharacterDAO implements CharacterDAO {
+
+    // Name of the manifest file inside the shards directory
+    private static final String MANIFEST = "manifest.json";
+    // Logger where the old shards that couldn't be deleted are reported
+    private static final Logger LOGGER = Logger.getLogger(ShardedCharacterDAO.class.getName());
+
+    // Directory where the manifest and the shards are stored
+    private final Path directory;
+    // Gson instance used for the manifest
+    private final Gson gson;
+    // Lock that lets every operation run in parallel except resharding, which needs to run alone
+    private final ReentrantReadWriteLock reshardLock;
+    // Generation of the current shards
+    private int generation;
+    // Data Access Objects of the current shards, indexed by shard number
+    private CharacterJsonDAO[] shards;
+
+    /**
+     * Parametrized constructor to persist characters in shards, creating them if the directory has no manifest yet.
+     *
+     * @param directory a string representation of the directory where the shards are stored (which is created if it doesn't exist)
+     * @param shardCount the number of shards to create if there is no manifest yet
+     * @throws PersistenceException if something goes wrong when opening/creating the manifest or the shards
+     */
+    public ShardedCharacterDAO(String directory, int shardCount) throws PersistenceException {
+        try {
+            this.directory = Paths.get(directory);
+            this.gson = new GsonBuilder().setPrettyPrinting().create();
+            this.reshardLock = new ReentrantReadWriteLock();
+
+            Files.createDirectories(this.directory);
+            Path manifest = this.directory.resolve(MANIFEST);
+            if (Files.exists(manifest)) {
+                JsonObject content = JsonParser.parseString(Files.readString(manifest)).getAsJsonObject();
+                generation = content.get("generation").getAsInt();
+                shards = open(generation, content.get("shards").getAsInt());
+            } else {
+                generation = 0;
+                shards = open(generation, shardCount);
+                writeManifest();
+            }
+        } catch (InvalidPathException | IOException | JsonParseException | IllegalStateException e) {
+            throw new PersistenceException("Couldn't create a Character DAO (sharded implementation) with path: " + directory + ".", e);
+        }
+    }
+
+    /**
+     * Method that copies the characters persisted by another DAO (usually the JSON one) into the shards.
+     *
+     * @param source the Data Access Object to read the characters from
+     * @throws PersistenceException if something goes wrong when reading or writing the characters
+     */
+    public void importFrom(CharacterDAO source) throws PersistenceException {
+        try {
+            HashMap<Integer, ArrayList<Character>> byShard = new HashMap<>();
+            for (Character character : source.getAll()) {
+                byShard.computeIfAbsent(shardOf(character.getPlayer(), shards.length), s -> new ArrayList<>()).add(character);
+            }
+            reshardLock.readLock().lock();
+            try {
+                for (HashMap.Entry<Integer, ArrayList<Character>> entry : byShard.entrySet()) {
+                    shards[entry.getKey()].updateAll(entry.getValue());
+                }
+            } finally {
+                reshardLock.readLock().unlock();
+            }
+        } catch (IOException e) {
+            throw new PersistenceException("Couldn't import the characters into the shards.", e);
+        }
+    }
+
+    /**
+     * Method that gets the number of shards the characters are currently split into.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        reshardLock.readLock().lock();
+        try {
+            return shards.length;
+        } finally {
+            reshardLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method that redistributes the characters into a different number of shards.
+     *
+     * <p>Other operations wait until the new shards are in place. If something goes wrong, the old shards stay in use.
+     * Once the manifest points to the new shards, the reshard has succeeded: if the old shards can't be deleted, that
+     * is only logged.
+     *
+     * @param shardCount the new number of shards
+     * @throws PersistenceException if something goes wrong when writing the new shards or the manifest
+     */
+    public void reshard(int shardCount) throws PersistenceException {
+        reshardLock.writeLock().lock();
+        try {
+            int oldGeneration = generation;
+            CharacterJsonDAO[] oldShards = shards;
+            int newGeneration = oldGeneration + 1;
+            // Shards left behind by a reshard that didn't finish would be merged into the new ones
+            deleteGeneration(newGeneration);
+
+            boolean swapped = false;
+            try {
+                CharacterJsonDAO[] newShards = open(newGeneration, shardCount);
+
+                ArrayList<ArrayList<Character>> byShard = new ArrayList<>();
+                for (int i = 0; i < shardCount; i++) {
+                    byShard.add(new ArrayList<>());
+                }
+                for (CharacterJsonDAO shard : oldShards) {
+                    for (Character character : shard.getAll()) {
+                        byShard.get(shardOf(character.getPlayer(), shardCount)).add(character);
+                    }
+                }
+                for (int i = 0; i < shardCount; i++) {
+                    newShards[i].updateAll(byShard.get(i));
+                }
+
+                generation = newGeneration;
+                shards = newShards;
+                writeManifest();
+                swapped = true;
+            } finally {
+                if (!swapped) {
+                    generation = oldGeneration;
+                    shards = oldShards;
+                    try {
+                        deleteGeneration(newGeneration);
+                    } catch (IOException ignored) {
+                        // They are deleted before the next reshard writes anything anyway
+                    }
+                }
+            }
+
+            try {
+                deleteGeneration(oldGeneration);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Couldn't delete the shards of generation " + oldGeneration + " in " + directory + ".", e);
+            }
+        } catch (IOException | PersistenceException e) {
+            throw new PersistenceException("Couldn't reshard the characters.", e);
+        } finally {
+            reshardLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Method that reads the persisted information of all characters.
+     *
+     * @throws IOException if something goes wrong when querying the persisted data (reading from the files)
+     */
+    @Override
+    public ArrayList<Character> getAll() throws IOException {
+        reshardLock.readLock().lock();
+        try {
+            ArrayList<Character> all = new ArrayList<>();
+            for (CharacterJsonDAO shard : shards) {
+                all.addAll(shard.getAll());
+            }
+            return all;
+        } finally {
+            reshardLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method that saves a specific character in the shard of its player.
+     *
+     * @param character the character to save
+     * @throws PersistenceException if something goes wrong when persisting (writing to the file)
+     */
+    @Override
+    public void save(Character character) throws PersistenceException, IOException {
+        reshardLock.readLock().lock();
+        try {
+            shardFor(character).save(character);
+        } finally {
+            reshardLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method that reads the persisted information of a set of characters, specifically those that are owned by a specific player.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public ArrayList<Character> getByPlayerName(String playerName) throws IOException {
+        reshardLock.readLock().lock();
+        try {
+            ArrayList<Character> filtered = new ArrayList<>();
+            for (CharacterJsonDAO shard : shards) {
+                filtered.addAll(shard.getByPlayerName(playerName));
+            }
+            return filtered;
+        } finally {
+            reshardLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method that reads a page of the characters owned by a specific player, in the same order as
+     * {@link #getByPlayerName(String)}.
+     *
+     * <p>Every shard is read only up to the characters that could fall into the page.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of characters to return
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public ArrayList<Character> getPageByPlayerName(String playerName, int offset, int limit) throws IOException {
+        reshardLock.readLock().lock();
+        try {
+            ArrayList<Character> page = new ArrayList<>();
+            int skip = offset;
+            for (CharacterJsonDAO shard : shards) {
+                if (page.size() >= limit) {
+                    break;
+                }
+                int wanted = (int) Math.min((long) skip + limit - page.size(), Integer.MAX_VALUE);
+                ArrayList<Character> found = shard.getPageByPlayerName(playerName, 0, wanted);
+                int skipped = Math.min(skip, found.size());
+                skip -= skipped;
+                page.addAll(found.subList(skipped, found.size()));
+            }
+            return page;
+        } finally {
+            reshardLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method that reads the names of a page of the characters owned by a specific player, in the same order as
+     * {@link #getByPlayerName(String)}.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of names to return
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public ArrayList<String> getNamesByPlayerName(String playerName, int offset, int limit) throws IOException {
+        reshardLock.readLock().lock();
+        try {
+            ArrayList<String> names = new ArrayList<>();
+            int skip = offset;
+            for (CharacterJsonDAO shard : shards) {
+                if (names.size() >= limit) {
+                    break;
+                }
+                int wanted = (int) Math.min((long) skip + limit - names.size(), Integer.MAX_VALUE);
+                ArrayList<String> found = shard.getNamesByPlayerName(playerName, 0, wanted);
+                int skipped = Math.min(skip, found.size());
+                skip -= skipped;
+                names.addAll(found.subList(skipped, found.size()));
+            }
+            return names;
+        } finally {
+            reshardLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method that reads the characters of a player given their whole name (ignoring case), which only reads one shard.
+     *
+     * @param playerName a string representation of the player's name
+     * @return the characters owned by the player
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    public ArrayList<Character> getByExactPlayerName(String playerName) throws IOException {
+        reshardLock.readLock().lock();
+        try {
+            ArrayList<Character> filtered = new ArrayList<>();
+            for (Character character : shards[shardOf(playerName, shards.length)].getByPlayerName(playerName)) {
+                if (character.getPlayer().equalsIgnoreCase(playerName)) {
+                    filtered.add(character);
+                }
+            }
+            return filtered;
+        } finally {
+            reshardLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method that deletes a specific character from the shard of its player.
+     *
+     * @param character the character to delete
+     * @throws PersistenceException if something goes wrong when persisting (reading from / writing to the file)
+     */
+    @Override
+    public void delete(Character character) throws PersistenceException, IOException {
+        reshardLock.readLock().lock();
+        try {
+            shardFor(character).delete(character);
+        } finally {
+            reshardLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method that reads the persisted information of a specific character, specifically the one with a specific name.
+     *
+     * @param name a string representation of the name to use in the query
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public Character getByCharacterName(String name) throws IOException {
+        reshardLock.readLock().lock();
+        try {
+            for (CharacterJsonDAO shard : shards) {
+                Character character = shard.getByCharacterName(name);
+                if (character != null) {
+                    return character;
+                }
+            }
+            return null;
+        } finally {
+            reshardLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method that reads the persisted information of several characters, specifically the ones with the given names.
+     *
+     * @param names string representations of the names to use in the query
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public ArrayList<Character> getByCharacterNames(String[] names) throws IOException {
+        reshardLock.readLock().lock();
+        try {
+            HashMap<String, Character> byName = new HashMap<>();
+            for (CharacterJsonDAO shard : shards) {
+                for (Character character : shard.getByCharacterNames(names)) {
+                    if (character != null) {
+                        byName.put(character.getName(), character);
+                    }
+                }
+            }
+
+            ArrayList<Character> characters = new ArrayList<>(names.length);
+            for (String name : names) {
+                characters.add(byName.get(name));
+            }
+            return characters;
+        } finally {
+            reshardLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method that updates a specific character in the shard of its player.
+     *
+     * @param character the character to update
+     * @throws PersistenceException if something goes wrong when persisting (writing to the file)
+     */
+    @Override
+    public void update(Character character) throws PersistenceException {
+        reshardLock.readLock().lock();
+        try {
+            shardFor(character).update(character);
+        } finally {
+            reshardLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method that updates several characters at once, writing every affected shard once.
+     *
+     * @param characters the characters to update
+     * @throws PersistenceException if something goes wrong when persisting (writing to the files)
+     */
+    @Override
+    public void updateAll(ArrayList<Character> characters) throws PersistenceException {
+        reshardLock.readLock().lock();
+        try {
+            HashMap<Integer, ArrayList<Character>> byShard = new HashMap<>();
+            for (Character character : characters) {
+                byShard.computeIfAbsent(shardOf(character.getPlayer(), shards.length), s -> new ArrayList<>()).add(character);
+            }
+            for (HashMap.Entry<Integer, ArrayList<Character>> entry : byShard.entrySet()) {
+                shards[entry.getKey()].updateAll(entry.getValue());
+            }
+        } finally {
+            reshardLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Method that gets the shard where a character is stored.
+     *
+     * @param character the character
+     * @return the Data Access Object of its shard
+     */
+    private CharacterJsonDAO shardFor(Character character) {
+        return shards[shardOf(character.getPlayer(), shards.length)];
+    }
+
+    /**
+     * Method that computes the shard of a player.
+     *
+     * @param playerName a string representation of the player's name
+     * @param shardCount the number of shards
+     * @return the number of the shard
+     */
+    private static int shardOf(String playerName, int shardCount) {
+        return Math.floorMod(playerName.toLowerCase().hashCode(), shardCount);
+    }
+
+    /**
+     * Method that opens (creating them if needed) the shards of a generation.
+     *
+     * @param generation the generation of the shards
+     * @param shardCount the number of shards
+     * @return the Data Access Objects of the shards
+     * @throws IOException if something goes wrong when opening/creating a shard
+     */
+    private CharacterJsonDAO[] open(int generation, int shardCount) throws IOException {
+        if (shardCount < 1) {
+            throw new IOException("There must be at least one shard.");
+        }
+        CharacterJsonDAO[] opened = new CharacterJsonDAO[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            try {
+                opened[i] = new CharacterJsonDAO(shardPath(generation, i).toString());
+            } catch (PersistenceException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+        return opened;
+    }
+
+    /**
+     * Method that builds the path of a shard.
+     *
+     * @param generation the generation of the shard
+     * @param shard the number of the shard
+     * @return the path of the shard file
+     */
+    private Path shardPath(int generation, int shard) {
+        return directory.resolve(String.format("characters-g%d-%03d.json", generation, shard));
+    }
+
+    /**
+     * Method that deletes every shard of a generation, together with the files the shards keep next to them.
+     *
+     * @param generation the generation of the shards
+     * @throws IOException if something goes wrong when listing or deleting the files
+     */
+    private void deleteGeneration(int generation) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "characters-g" + generation + "-*")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Method that atomically writes the manifest with the current generation and number of shards.
+     *
+     * @throws IOException if something goes wrong when writing the manifest
+     */
+    private void writeManifest() throws IOException {
+        JsonObject content = new JsonObject();
+        content.addProperty("generation", generation);
+        content.addProperty("shards", shards.length);
+        JsonFiles.writeAtomically(directory.resolve(MANIFEST), gson.toJson(content));
+    }
+}
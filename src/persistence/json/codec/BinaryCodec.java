@@ -0,0 +1,456 @@
+package persistence.json.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class that implements the {@link Codec} interface storing the elements in a compact binary format.
+ *
+ * <p>The file starts with a magic number and a version, followed by a dictionary with every distinct string (property
+ * names and text values), so repeated strings like the property names or the character classes are stored once. Then
+ * comes the number of elements and every element prefixed by its length in bytes. Values are tagged, integers are
+ * stored as variable-length numbers and strings as their index in the dictionary.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class BinaryCodec implements Codec {
+
+    // Bytes every file in this format starts with
+    static final byte[] MAGIC = {'L', 'S', 'R', 'B'};
+    // Version of the format
+    private static final int VERSION = 1;
+
+    // Tags of the different kinds of values
+    private static final int NULL = 0;
+    private static final int TRUE = 1;
+    private static final int FALSE = 2;
+    private static final int INTEGER = 3;
+    private static final int DECIMAL = 4;
+    private static final int STRING = 5;
+    private static final int ARRAY = 6;
+    private static final int OBJECT = 7;
+
+    /**
+     * Method that gets the name used to refer to the codec.
+     *
+     * @return a string representation of the codec's name
+     */
+    @Override
+    public String getName() {
+        return "binary";
+    }
+
+    /**
+     * Method that encodes an array of elements in the binary format.
+     *
+     * @param elements a tree representation of the elements
+     * @return the encoded bytes
+     */
+    @Override
+    public byte[] encode(JsonArray elements) {
+        try {
+            HashMap<String, Integer> dictionary = new HashMap<>();
+            for (JsonElement element : elements) {
+                collect(element, dictionary);
+            }
+            String[] strings = new String[dictionary.size()];
+            for (Map.Entry<String, Integer> entry : dictionary.entrySet()) {
+                strings[entry.getValue()] = entry.getKey();
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            writeVarInt(out, strings.length);
+            for (String string : strings) {
+                byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, utf8.length);
+                out.write(utf8);
+            }
+
+            writeVarInt(out, elements.size());
+            ByteArrayOutputStream elementBytes = new ByteArrayOutputStream();
+            DataOutputStream elementOut = new DataOutputStream(elementBytes);
+            for (JsonElement element : elements) {
+                elementBytes.reset();
+                writeValue(elementOut, element, dictionary);
+                writeVarInt(out, elementBytes.size());
+                elementBytes.writeTo(out);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // Writing to memory can't fail
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Method that starts reading an array in the binary format, reading its dictionary.
+     *
+     * @param in the stream with the encoded bytes, which the returned reader closes
+     * @return a reader of the elements of the array
+     * @throws IOException if something goes wrong when reading the data or it isn't in this format
+     */
+    @Override
+    public ElementReader open(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in instanceof BufferedInputStream ? in : new BufferedInputStream(in));
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            data.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("The data isn't in the binary format.");
+            }
+            int version = data.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version of the binary format: " + version + ".");
+            }
+
+            String[] strings = new String[readVarInt(data)];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] utf8 = new byte[readVarInt(data)];
+                data.readFully(utf8);
+                strings[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+            return new BinaryElementReader(data, strings, readVarInt(data));
+        } catch (EOFException e) {
+            data.close();
+            throw new IOException("The binary data is truncated.", e);
+        } catch (IOException e) {
+            data.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Method that adds every string of a value to the dictionary.
+     *
+     * @param value the value
+     * @param dictionary the dictionary, mapping every string to its index
+     */
+    private static void collect(JsonElement value, HashMap<String, Integer> dictionary) {
+        if (value.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> property : value.getAsJsonObject().entrySet()) {
+                dictionary.putIfAbsent(property.getKey(), dictionary.size());
+                collect(property.getValue(), dictionary);
+            }
+        } else if (value.isJsonArray()) {
+            for (JsonElement item : value.getAsJsonArray()) {
+                collect(item, dictionary);
+            }
+        } else if (value.isJsonPrimitive() && value.getAsJsonPrimitive().isString()) {
+            dictionary.putIfAbsent(value.getAsString(), dictionary.size());
+        }
+    }
+
+    /**
+     * Method that writes a tagged value.
+     *
+     * @param out the stream to write to
+     * @param value the value
+     * @param dictionary the dictionary, mapping every string to its index
+     * @throws IOException if something goes wrong when writing
+     */
+    private static void writeValue(DataOutputStream out, JsonElement value, HashMap<String, Integer> dictionary) throws IOException {
+        if (value.isJsonNull()) {
+            out.writeByte(NULL);
+        } else if (value.isJsonObject()) {
+            JsonObject object = value.getAsJsonObject();
+            out.writeByte(OBJECT);
+            writeVarInt(out, object.size());
+            for (Map.Entry<String, JsonElement> property : object.entrySet()) {
+                writeVarInt(out, dictionary.get(property.getKey()));
+                writeValue(out, property.getValue(), dictionary);
+            }
+        } else if (value.isJsonArray()) {
+            JsonArray array = value.getAsJsonArray();
+            out.writeByte(ARRAY);
+            writeVarInt(out, array.size());
+            for (JsonElement item : array) {
+                writeValue(out, item, dictionary);
+            }
+        } else {
+            JsonPrimitive primitive = value.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                out.writeByte(primitive.getAsBoolean() ? TRUE : FALSE);
+            } else if (primitive.isString()) {
+                out.writeByte(STRING);
+                writeVarInt(out, dictionary.get(primitive.getAsString()));
+            } else {
+                BigDecimal number = primitive.getAsBigDecimal();
+                try {
+                    long integer = number.longValueExact();
+                    out.writeByte(INTEGER);
+                    writeVarLong(out, (integer << 1) ^ (integer >> 63));
+                } catch (ArithmeticException e) {
+                    out.writeByte(DECIMAL);
+                    byte[] text = number.toString().getBytes(StandardCharsets.UTF_8);
+                    writeVarInt(out, text.length);
+                    out.write(text);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method that reads a tagged value.
+     *
+     * @param in the stream to read from
+     * @param strings the dictionary
+     * @return a tree representation of the value
+     * @throws IOException if something goes wrong when reading or the value is malformed
+     */
+    private static JsonElement readValue(DataInputStream in, String[] strings) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case NULL:
+                return JsonNull.INSTANCE;
+            case TRUE:
+                return new JsonPrimitive(true);
+            case FALSE:
+                return new JsonPrimitive(false);
+            case INTEGER:
+                long zigzag = readVarLong(in);
+                return new JsonPrimitive((zigzag >>> 1) ^ -(zigzag & 1));
+            case DECIMAL:
+                byte[] text = new byte[readVarInt(in)];
+                in.readFully(text);
+                return new JsonPrimitive(new BigDecimal(new String(text, StandardCharsets.UTF_8)));
+            case STRING:
+                return new JsonPrimitive(string(strings, readVarInt(in)));
+            case ARRAY:
+                int items = readVarInt(in);
+                JsonArray array = new JsonArray(items);
+                for (int i = 0; i < items; i++) {
+                    array.add(readValue(in, strings));
+                }
+                return array;
+            case OBJECT:
+                int properties = readVarInt(in);
+                JsonObject object = new JsonObject();
+                for (int i = 0; i < properties; i++) {
+                    String key = string(strings, readVarInt(in));
+                    object.add(key, readValue(in, strings));
+                }
+                return object;
+            default:
+                throw new IOException("Unknown value tag in the binary data: " + tag + ".");
+        }
+    }
+
+    /**
+     * Method that skips a tagged value without building it.
+     *
+     * @param in the stream to read from
+     * @throws IOException if something goes wrong when reading or the value is malformed
+     */
+    private static void skipValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case NULL:
+            case TRUE:
+            case FALSE:
+                break;
+            case INTEGER:
+                readVarLong(in);
+                break;
+            case DECIMAL:
+                in.skipNBytes(readVarInt(in));
+                break;
+            case STRING:
+                readVarInt(in);
+                break;
+            case ARRAY:
+                int items = readVarInt(in);
+                for (int i = 0; i < items; i++) {
+                    skipValue(in);
+                }
+                break;
+            case OBJECT:
+                int properties = readVarInt(in);
+                for (int i = 0; i < properties; i++) {
+                    readVarInt(in);
+                    skipValue(in);
+                }
+                break;
+            default:
+                throw new IOException("Unknown value tag in the binary data: " + tag + ".");
+        }
+    }
+
+    /**
+     * Method that looks up a string in the dictionary.
+     *
+     * @param strings the dictionary
+     * @param index the index of the string
+     * @return the string
+     * @throws IOException if the index is out of the dictionary
+     */
+    private static String string(String[] strings, int index) throws IOException {
+        if (index < 0 || index >= strings.length) {
+            throw new IOException("String index out of the dictionary: " + index + ".");
+        }
+        return strings[index];
+    }
+
+    /**
+     * Method that writes a non-negative integer using as few bytes as needed (7 bits per byte).
+     *
+     * @param out the stream to write to
+     * @param value the integer
+     * @throws IOException if something goes wrong when writing
+     */
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value);
+    }
+
+    /**
+     * Method that writes a long using as few bytes as needed (7 bits per byte), treating it as unsigned.
+     *
+     * @param out the stream to write to
+     * @param value the long
+     * @throws IOException if something goes wrong when writing
+     */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Method that reads a non-negative integer written with {@link #writeVarInt(DataOutputStream, int)}.
+     *
+     * @param in the stream to read from
+     * @return the integer
+     * @throws IOException if something goes wrong when reading or the integer is malformed
+     */
+    private static int readVarInt(DataInputStream in) throws IOException {
+        long value = readVarLong(in);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Malformed length in the binary data.");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Method that reads a long written with {@link #writeVarLong(DataOutputStream, long)}.
+     *
+     * @param in the stream to read from
+     * @return the long
+     * @throws IOException if something goes wrong when reading or the long is malformed
+     */
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed number in the binary data.");
+    }
+
+    /**
+     * Class that reads the elements of an array in the binary format one at a time.
+     */
+    private static class BinaryElementReader implements ElementReader {
+
+        // Stream positioned at the next element
+        private final DataInputStream in;
+        // Dictionary of strings of the array
+        private final String[] strings;
+        // Number of elements left to read
+        private int remaining;
+
+        /**
+         * Parametrized constructor to read the elements of an array whose dictionary has already been read.
+         *
+         * @param in the stream positioned at the first element
+         * @param strings the dictionary of strings
+         * @param count the number of elements
+         */
+        private BinaryElementReader(DataInputStream in, String[] strings, int count) {
+            this.in = in;
+            this.strings = strings;
+            this.remaining = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public JsonElement nextElement() throws IOException {
+            try {
+                // The length of the element lets other readers skip it, but it isn't needed to decode it
+                readVarInt(in);
+                JsonElement element = readValue(in, strings);
+                remaining--;
+                return element;
+            } catch (EOFException e) {
+                throw new IOException("The binary data is truncated.", e);
+            }
+        }
+
+        @Override
+        public <T> T next(Gson gson, Type type) throws IOException {
+            return gson.fromJson(nextElement(), type);
+        }
+
+        @Override
+        public JsonObject nextFields(Set<String> fields) throws IOException {
+            try {
+                readVarInt(in);
+                int tag = in.readUnsignedByte();
+                if (tag != OBJECT) {
+                    throw new IOException("Expected an object in the binary data but found tag " + tag + ".");
+                }
+                JsonObject kept = new JsonObject();
+                int properties = readVarInt(in);
+                for (int i = 0; i < properties; i++) {
+                    String key = string(strings, readVarInt(in));
+                    if (fields.contains(key)) {
+                        kept.add(key, readValue(in, strings));
+                    } else {
+                        skipValue(in);
+                    }
+                }
+                remaining--;
+                return kept;
+            } catch (EOFException e) {
+                throw new IOException("The binary data is truncated.", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
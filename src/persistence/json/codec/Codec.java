@@ -0,0 +1,41 @@
+package persistence.json.codec;
+
+import com.google.gson.JsonArray;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Interface that abstracts the format used to store an array of entities in a data file.
+ *
+ * <p>Entities are turned into JSON trees by Gson before being encoded, so every codec can store any entity.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public interface Codec {
+
+    /**
+     * Method that gets the name used to refer to the codec (for example, in the migration command).
+     *
+     * @return a string representation of the codec's name
+     */
+    String getName();
+
+    /**
+     * Method that encodes an array of elements.
+     *
+     * @param elements a tree representation of the elements
+     * @return the encoded bytes
+     */
+    byte[] encode(JsonArray elements);
+
+    /**
+     * Method that starts reading an array encoded with this codec.
+     *
+     * @param in the stream with the encoded bytes, which the returned reader closes
+     * @return a reader of the elements of the array
+     * @throws IOException if something goes wrong when reading the data or it isn't a valid array
+     */
+    ElementReader open(InputStream in) throws IOException;
+}
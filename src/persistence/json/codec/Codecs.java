@@ -0,0 +1,113 @@
+package persistence.json.codec;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Class that holds the available codecs and detects which one was used to write a file.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public final class Codecs {
+
+    // Pretty printed JSON, the format of the data files shipped with the application
+    public static final Codec PRETTY_JSON = new JsonCodec("pretty", true);
+    // JSON without any whitespace
+    public static final Codec COMPACT_JSON = new JsonCodec("compact", false);
+    // Compact binary format with a string dictionary
+    public static final Codec BINARY = new BinaryCodec();
+
+    // Size (in bytes) of the buffer used when reading a file
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Private constructor, as this class only has static methods.
+     */
+    private Codecs() {
+    }
+
+    /**
+     * Method that gets a codec by its name.
+     *
+     * @param name a string representation of the codec's name (pretty, compact or binary)
+     * @return the codec, or null if there is no codec with that name
+     */
+    public static Codec forName(String name) {
+        for (Codec codec : new Codec[]{PRETTY_JSON, COMPACT_JSON, BINARY}) {
+            if (codec.getName().equalsIgnoreCase(name)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method that opens a file written with any of the codecs, detecting which one from its first bytes.
+     *
+     * <p>Both JSON codecs are read in the same way, so a JSON file is always read with the pretty one.
+     *
+     * @param path the file to read
+     * @return a reader of the elements of the array in the file
+     * @throws IOException if something goes wrong when reading the file or it doesn't hold an array
+     */
+    public static ElementReader open(Path path) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE);
+        try {
+            return detect(in).open(in);
+        } catch (IOException e) {
+            in.close();
+            throw new IOException("Couldn't read " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method that detects the codec an existing file was written with, so that it can be written back in the same
+     * format.
+     *
+     * <p>Pretty printed JSON is told apart from compact JSON by the whitespace after the opening bracket.
+     *
+     * @param path a string representation of the file path
+     * @param fallback the codec to use if the file doesn't exist, is empty or can't be read
+     * @return the codec
+     */
+    public static Codec detect(String path, Codec fallback) {
+        try (BufferedInputStream in = new BufferedInputStream(Files.newInputStream(Paths.get(path)), BUFFER_SIZE)) {
+            if (detect(in) == BINARY) {
+                return BINARY;
+            }
+            int first = in.read();
+            while (first != -1 && Character.isWhitespace(first)) {
+                first = in.read();
+            }
+            int second = in.read();
+            if (first != '[' || second == -1 || second == ']') {
+                return fallback;
+            }
+            return Character.isWhitespace(second) ? PRETTY_JSON : COMPACT_JSON;
+        } catch (IOException | InvalidPathException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Method that detects the codec used to write a stream without consuming any byte.
+     *
+     * @param in the stream, which has to support marks
+     * @return the codec
+     * @throws IOException if something goes wrong when reading the stream
+     */
+    private static Codec detect(InputStream in) throws IOException {
+        byte[] start = new byte[BinaryCodec.MAGIC.length];
+        in.mark(start.length);
+        int read = in.readNBytes(start, 0, start.length);
+        in.reset();
+        return read == start.length && Arrays.equals(start, BinaryCodec.MAGIC) ? BINARY : PRETTY_JSON;
+    }
+}
@@ -0,0 +1,56 @@
+package persistence.json.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Set;
+
+/**
+ * Interface that abstracts reading the elements of an encoded array one at a time, whatever the codec used to write it.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public interface ElementReader extends Closeable {
+
+    /**
+     * Method that checks whether there are more elements to read.
+     *
+     * @return whether there are more elements or not
+     * @throws IOException if something goes wrong when reading the data
+     */
+    boolean hasNext() throws IOException;
+
+    /**
+     * Method that reads the next element as a JSON tree.
+     *
+     * @return a tree representation of the element
+     * @throws IOException if something goes wrong when reading the data
+     */
+    JsonElement nextElement() throws IOException;
+
+    /**
+     * Method that reads the next element as an object.
+     *
+     * @param gson the Gson instance used to build the element
+     * @param type the type of the element
+     * @param <T> the type of the element
+     * @return an object representation of the element
+     * @throws IOException if something goes wrong when reading the data
+     */
+    <T> T next(Gson gson, Type type) throws IOException;
+
+    /**
+     * Method that reads only some properties of the next element, which has to be an object, skipping the rest
+     * without building them.
+     *
+     * @param fields the names of the properties to keep
+     * @return a tree representation of the kept properties
+     * @throws IOException if something goes wrong when reading the data or the element isn't an object
+     */
+    JsonObject nextFields(Set<String> fields) throws IOException;
+}
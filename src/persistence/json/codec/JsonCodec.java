@@ -0,0 +1,158 @@
+package persistence.json.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Class that implements the {@link Codec} interface storing the elements as a JSON array, either pretty printed (for
+ * human editing) or compact.
+ *
+ * <p>Both variants are read in the same way, element by element, with Gson's streaming reader.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class JsonCodec implements Codec {
+
+    // Size (in chars) of the buffer used when reading
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Name of the codec
+    private final String name;
+    // Gson instance used to write the array
+    private final Gson gson;
+
+    /**
+     * Parametrized constructor to create a JSON codec.
+     *
+     * @param name a string representation of the codec's name
+     * @param pretty whether the JSON is pretty printed or not
+     */
+    public JsonCodec(String name, boolean pretty) {
+        this.name = name;
+        this.gson = pretty ? new GsonBuilder().setPrettyPrinting().create() : new Gson();
+    }
+
+    /**
+     * Method that gets the name used to refer to the codec.
+     *
+     * @return a string representation of the codec's name
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Method that encodes an array of elements as JSON text.
+     *
+     * @param elements a tree representation of the elements
+     * @return the UTF-8 bytes of the JSON text
+     */
+    @Override
+    public byte[] encode(JsonArray elements) {
+        return gson.toJson(elements).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method that starts reading a JSON array. An empty stream or a null value are read as an empty array.
+     *
+     * @param in the stream with the JSON text, which the returned reader closes
+     * @return a reader of the elements of the array
+     * @throws IOException if something goes wrong when reading the text or it doesn't hold an array
+     */
+    @Override
+    public ElementReader open(InputStream in) throws IOException {
+        JsonReader reader = new JsonReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE));
+
+        boolean array = false;
+        try {
+            JsonToken token = reader.peek();
+            if (token == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                array = true;
+            } else if (token != JsonToken.NULL) {
+                throw new IOException("Expected a JSON array but found " + token + ".");
+            }
+        } catch (EOFException e) {
+            // An empty file holds no elements
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+        return new JsonElementReader(reader, array);
+    }
+
+    /**
+     * Class that reads the elements of a JSON array with Gson's streaming reader.
+     */
+    private static class JsonElementReader implements ElementReader {
+
+        // Reader of the JSON tokens
+        private final JsonReader reader;
+        // Whether there is an array to read (an empty file or a null value don't have one)
+        private final boolean hasArray;
+
+        /**
+         * Parametrized constructor to read the elements of an array whose start has already been read.
+         *
+         * @param reader the reader of the JSON tokens
+         * @param hasArray whether there is an array to read
+         */
+        private JsonElementReader(JsonReader reader, boolean hasArray) {
+            this.reader = reader;
+            this.hasArray = hasArray;
+        }
+
+        @Override
+        public boolean hasNext() throws IOException {
+            return hasArray && reader.hasNext();
+        }
+
+        @Override
+        public JsonElement nextElement() {
+            return JsonParser.parseReader(reader);
+        }
+
+        @Override
+        public <T> T next(Gson gson, Type type) {
+            return gson.fromJson(reader, type);
+        }
+
+        @Override
+        public JsonObject nextFields(Set<String> fields) throws IOException {
+            JsonObject kept = new JsonObject();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (fields.contains(name)) {
+                    kept.add(name, JsonParser.parseReader(reader));
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return kept;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
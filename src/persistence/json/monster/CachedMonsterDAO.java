@@ -0,0 +1,145 @@
+package persistence.json.monster;
+
+import business.entities.MonsterTemplate;
+import persistence.exceptions.PersistenceException;
+import persistence.json.DataDirectoryWatcher;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Class that implements the methods described in the {@link MonsterDAO} interface by decorating another
+ * {@link MonsterDAO}, keeping the parsed monsters in memory until their file changes.
+ *
+ * <p>The file isn't checked on every read: a {@link DataDirectoryWatcher} tells the cache when the file has been
+ * changed, and the monsters are only read again from the decorated DAO on the next read after that. Monster templates
+ * are immutable, so every caller shares the cached ones (with their strings interned) instead of getting copies.
+ *
+ * <p>Whatever depends on the monsters (like the cached adventures, whose encounters reference them) can subscribe to
+ * be told when the cached monsters are forgotten.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class CachedMonsterDAO implements MonsterDAO {
+
+    // Data Access Object that really reads the monsters
+    private final MonsterDAO dao;
+    // Monsters read from the decorated DAO, or null if they have to be read again
+    private ArrayList<MonsterTemplate> monsters;
+    // The same monsters, indexed by name
+    private HashMap<String, MonsterTemplate> monstersByName;
+    // Number of times the monsters have been read from the decorated DAO
+    private long reloads;
+    // Subscribers to tell when the cached monsters are forgotten
+    private final CopyOnWriteArrayList<Runnable> listeners;
+
+    /**
+     * Parametrized constructor to keep in memory the monsters read by another DAO.
+     *
+     * @param dao the Data Access Object to decorate
+     * @param path a string representation of the file path where the decorated DAO reads the monsters from
+     * @throws IOException if the directory of the file can't be watched
+     */
+    public CachedMonsterDAO(MonsterDAO dao, String path) throws IOException {
+        this(dao);
+        Path p = Paths.get(path);
+        DataDirectoryWatcher.forFile(p).subscribe(p, changed -> invalidate());
+    }
+
+    /**
+     * Parametrized constructor to keep in memory the monsters read by another DAO until {@link #invalidate()} is
+     * called, without watching their file.
+     *
+     * @param dao the Data Access Object to decorate
+     */
+    public CachedMonsterDAO(MonsterDAO dao) {
+        this.dao = dao;
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Method that reads the persisted information of all monsters, from memory unless the file has changed.
+     *
+     * @throws IOException if something goes wrong when querying the persisted data (reading from the file)
+     * @throws PersistenceException if the file can't be accessed
+     */
+    @Override
+    public synchronized ArrayList<MonsterTemplate> getAll() throws IOException, PersistenceException {
+        load();
+
+        return new ArrayList<>(monsters);
+    }
+
+    /**
+     * Method that reads the persisted information of a specific monster from the index, unless the file has changed.
+     *
+     * @param name a string representation of the name to use in the query
+     * @throws IOException if something goes wrong when querying the persisted data (reading from the file)
+     * @throws PersistenceException if the file can't be accessed
+     */
+    @Override
+    public synchronized MonsterTemplate getByName(String name) throws IOException, PersistenceException {
+        load();
+
+        return monstersByName.get(name);
+    }
+
+    /**
+     * Method that gets the number of times the monsters have been read from the decorated DAO.
+     *
+     * @return the number of reloads
+     */
+    public synchronized long getReloads() {
+        return reloads;
+    }
+
+    /**
+     * Method that subscribes to the cached monsters being forgotten.
+     *
+     * @param listener the subscriber, which is called after the monsters have been forgotten
+     */
+    public void addInvalidationListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Method that forgets the cached monsters, so that the next read gets them from the decorated DAO, and then tells
+     * the subscribers.
+     */
+    public void invalidate() {
+        synchronized (this) {
+            monsters = null;
+            monstersByName = null;
+        }
+        // Outside the lock, as the subscribers may read the monsters again
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Method that reads the monsters from the decorated DAO if they aren't cached.
+     *
+     * @throws IOException if something goes wrong when reading the file
+     * @throws PersistenceException if the file can't be accessed
+     */
+    private void load() throws IOException, PersistenceException {
+        if (monsters == null) {
+            ArrayList<MonsterTemplate> all = new ArrayList<>();
+            HashMap<String, MonsterTemplate> byName = new HashMap<>();
+            for (MonsterTemplate monster : dao.getAll()) {
+                MonsterTemplate interned = monster.intern();
+                all.add(interned);
+                byName.putIfAbsent(interned.getName(), interned);
+            }
+            monsters = all;
+            monstersByName = byName;
+            reloads++;
+        }
+    }
+}
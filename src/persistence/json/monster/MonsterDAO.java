@@ -1,7 +1,7 @@
 package persistence.json.monster;
 
 import business.entities.Character;
-import business.entities.Monster;
+import business.entities.MonsterTemplate;
 import persistence.exceptions.PersistenceException;
 
 import java.io.IOException;
@@ -24,6 +24,15 @@ public interface MonsterDAO {
      *
      * @throws IOException if something goes wrong when querying the persisted data (reading from the file)
      */
-    ArrayList<Monster> getAll() throws IOException, PersistenceException;
+    ArrayList<MonsterTemplate> getAll() throws IOException, PersistenceException;
+
+    /**
+     * Method that reads the persisted information of a specific monster, specifically the one with a specific name.
+     *
+     * @param name a string representation of the name to use in the query
+     * @return the monster, or null if there isn't a monster with that name
+     * @throws IOException if something goes wrong when querying the persisted data (reading from the file)
+     */
+    MonsterTemplate getByName(String name) throws IOException, PersistenceException;
 }
 
@@ -5,6 +5,8 @@ import com.google.gson.*;
 import com.google.gson.reflect.TypeToken;
 import persistence.exceptions.MonsterFileNotFoundException;
 import persistence.exceptions.PersistenceException;
+import persistence.json.JsonArrayStream;
+import persistence.json.JsonFileLock;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
@@ -16,7 +18,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import business.entities.Monster;
+import business.entities.MonsterTemplate;
 
 /**
  * Class that implements the methods described in the {@link MonsterDAO} interface, and will be used as a way to
@@ -33,6 +35,8 @@ public class MonsterJsonDAO implements MonsterDAO {
     private final Path path;
     // Gson instance to help when persisting
     private final Gson gson;
+    // Lock shared with every other user of the file
+    private final JsonFileLock lock;
 
 
     /**
@@ -46,7 +50,11 @@ public class MonsterJsonDAO implements MonsterDAO {
         Path p = Paths.get(path);
 
         this.path = p;
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
+        this.gson = new GsonBuilder()
+                .setPrettyPrinting()
+                .registerTypeAdapter(MonsterTemplate.class, new MonsterTemplateAdapter())
+                .create();
+        this.lock = JsonFileLock.forPath(p);
 
         if(!Files.exists(p)){
             throw new MonsterFileNotFoundException("Error: The monsters.json file can’t be accessed.");
@@ -54,22 +62,44 @@ public class MonsterJsonDAO implements MonsterDAO {
     }
 
     /**
-     * Method that reads the persisted information of all monsters.
+     * Method that reads the persisted information of all monsters, parsing their damage dice.
      *
+     * @throws PersistenceException if the file can't be accessed, or a monster in it is malformed
      */
     @Override
-    public ArrayList<Monster> getAll() throws PersistenceException {
+    public ArrayList<MonsterTemplate> getAll() throws PersistenceException {
 
-        ArrayList<Monster> all;
+        ArrayList<MonsterTemplate> all;
         try {
-            String monstersString = Files.readString(path);
-            Type listType = new TypeToken<ArrayList<Monster>>() {}.getType();
-            all = gson.fromJson(monstersString, listType);
+            all = lock.read(() -> JsonArrayStream.readAll(path, gson, MonsterTemplate.class));
         } catch ( IOException e) {
             throw new PersistenceException("Error: The monsters.json file can’t be accessed.", e);
+        } catch (JsonParseException e) {
+            throw new PersistenceException("Error: The monsters.json file is malformed.", e);
         }
 
         return all;
     }
 
+    /**
+     * Method that reads the persisted information of a specific monster, going through the file until it's found.
+     *
+     * @param name a string representation of the name to use in the query
+     * @throws PersistenceException if the file can't be accessed, or a monster in it is malformed
+     */
+    @Override
+    public MonsterTemplate getByName(String name) throws PersistenceException {
+
+        ArrayList<MonsterTemplate> found;
+        try {
+            found = lock.read(() -> JsonArrayStream.filter(path, gson, MonsterTemplate.class, monster -> name.equals(monster.getName())));
+        } catch ( IOException e) {
+            throw new PersistenceException("Error: The monsters.json file can’t be accessed.", e);
+        } catch (JsonParseException e) {
+            throw new PersistenceException("Error: The monsters.json file is malformed.", e);
+        }
+
+        return found.isEmpty() ? null : found.get(0);
+    }
+
 }
@@ -0,0 +1,123 @@
+package persistence.json.monster;
+
+import business.entities.MonsterTemplate;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Class that converts monster templates to and from JSON through their constructor, so that their damage dice are
+ * parsed once, when the monsters are read, instead of the first time they attack.
+ *
+ * <p>A monster with a malformed (or missing) damage dice expression can't be read, so a broken file is noticed when
+ * it's loaded and not in the middle of a combat. The JSON fields are the same ones Gson used to write by reflection.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class MonsterTemplateAdapter extends TypeAdapter<MonsterTemplate> {
+
+    // Names of the fields of a monster
+    private static final String NAME = "name";
+    private static final String CHALLENGE = "challenge";
+    private static final String EXPERIENCE = "experience";
+    private static final String HIT_POINTS = "hitPoints";
+    private static final String INITIATIVE = "initiative";
+    private static final String DAMAGE_DICE = "damageDice";
+    private static final String DAMAGE_TYPE = "damageType";
+
+    /**
+     * Method that writes a monster template.
+     *
+     * @param out the writer
+     * @param monster the monster to write
+     * @throws IOException if something goes wrong when writing
+     */
+    @Override
+    public void write(JsonWriter out, MonsterTemplate monster) throws IOException {
+        if (monster == null) {
+            out.nullValue();
+            return;
+        }
+
+        out.beginObject();
+        out.name(NAME).value(monster.getName());
+        out.name(CHALLENGE).value(monster.getChallenge());
+        out.name(EXPERIENCE).value(monster.getExperience());
+        out.name(HIT_POINTS).value(monster.getHitPoints());
+        out.name(INITIATIVE).value(monster.getInitiative());
+        out.name(DAMAGE_DICE).value(monster.getDamageDice());
+        out.name(DAMAGE_TYPE).value(monster.getDamageType());
+        out.endObject();
+    }
+
+    /**
+     * Method that reads a monster template, parsing its damage dice.
+     *
+     * @param in the reader
+     * @return the monster
+     * @throws IOException if something goes wrong when reading
+     * @throws JsonParseException if the monster's damage dice expression is malformed or missing, or a number isn't one
+     */
+    @Override
+    public MonsterTemplate read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        String name = null;
+        String challenge = null;
+        int experience = 0;
+        int hitPoints = 0;
+        int initiative = 0;
+        String damageDice = null;
+        String damageType = null;
+
+        try {
+            in.beginObject();
+            while (in.hasNext()) {
+                String field = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (field) {
+                    case NAME:
+                        name = in.nextString();
+                        break;
+                    case CHALLENGE:
+                        challenge = in.nextString();
+                        break;
+                    case EXPERIENCE:
+                        experience = in.nextInt();
+                        break;
+                    case HIT_POINTS:
+                        hitPoints = in.nextInt();
+                        break;
+                    case INITIATIVE:
+                        initiative = in.nextInt();
+                        break;
+                    case DAMAGE_DICE:
+                        damageDice = in.nextString();
+                        break;
+                    case DAMAGE_TYPE:
+                        damageType = in.nextString();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new MonsterTemplate(name, challenge, experience, hitPoints, initiative, damageDice, damageType);
+        } catch (IllegalArgumentException e) {
+            // Including a number field that isn't a number
+            throw new JsonParseException("Couldn't read a monster: " + e.getMessage(), e);
+        }
+    }
+}
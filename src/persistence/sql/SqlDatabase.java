@@ -0,0 +1,90 @@
+package persistence.sql;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Class that groups the operations on the embedded database shared by the SQL Data Access Objects.
+ *
+ * <p>The database is a single SQLite file next to the JSON data files. The SQLite JDBC driver (org.xerial:sqlite-jdbc)
+ * is shipped in the {@code lib} folder, next to Gson, and has to be in the classpath.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public final class SqlDatabase {
+
+    // Prefix of the JDBC URL of a SQLite database file
+    private static final String URL_PREFIX = "jdbc:sqlite:";
+
+    /**
+     * Private constructor, as this class only has static methods.
+     */
+    private SqlDatabase() {
+    }
+
+    /**
+     * Method that opens a connection to a database file, creating it if it doesn't exist.
+     *
+     * @param path a string representation of the path of the database file
+     * @return the connection, in auto-commit mode
+     * @throws SQLException if something goes wrong when opening the database (including the driver not being available)
+     */
+    public static Connection open(String path) throws SQLException {
+        Connection connection = DriverManager.getConnection(URL_PREFIX + path);
+        try (Statement statement = connection.createStatement()) {
+            // Readers don't block the writer and the other way round
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    /**
+     * Method that escapes the wildcards of a LIKE pattern, so that the text is matched literally.
+     *
+     * @param text the text to match
+     * @return the escaped text, to be used with {@code ESCAPE '\'}
+     */
+    public static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Method that runs some statements in a transaction, rolling it back if any of them fails.
+     *
+     * @param connection the connection to run the statements on
+     * @param work the statements to run
+     * @throws SQLException if something goes wrong when running the statements or committing
+     */
+    public static void inTransaction(Connection connection, SqlWork work) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            work.run();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Interface for statements that run inside a transaction.
+     */
+    public interface SqlWork {
+
+        /**
+         * Method that runs the statements.
+         *
+         * @throws SQLException if something goes wrong when running them
+         */
+        void run() throws SQLException;
+    }
+}
@@ -0,0 +1,201 @@
+package persistence.sql.adventure;
+
+import business.entities.Adventure;
+import business.entities.AdventureHeader;
+import business.entities.Encounter;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import persistence.exceptions.PersistenceException;
+import persistence.json.adventure.AdventureDAO;
+import persistence.json.adventure.EncounterAdapter;
+import persistence.sql.SqlDatabase;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+
+/**
+ * Class that implements the methods described in the {@link AdventureDAO} interface, persisting the adventures in a
+ * table of an embedded SQLite database.
+ *
+ * <p>Adventure names are unique, and the encounters of an adventure are stored as JSON in a single column, as they are
+ * always read and written together with the adventure. The number of encounters and the total experience are stored in
+ * their own columns too, so the headers can be listed without reading any encounter. Adventures are returned in the
+ * order they were saved.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class AdventureSqlDAO implements AdventureDAO {
+
+    // Columns written when saving an adventure, in the order used by the insert statements
+    private static final String COLUMNS = "name, encounters, encounter_count, experience";
+
+    // Connection to the database
+    private final Connection connection;
+    // Gson instance used for the encounters column
+    private final Gson gson;
+    // Type of the encounters column
+    private final Type encountersType;
+
+    /**
+     * Parametrized constructor to persist adventures in a database file, creating the table if it doesn't exist.
+     *
+     * @param path a string representation of the path of the database file (which is created if it doesn't exist)
+     * @throws PersistenceException if something goes wrong when opening the database or creating the table
+     */
+    public AdventureSqlDAO(String path) throws PersistenceException {
+        try {
+            this.connection = SqlDatabase.open(path);
+            this.gson = new GsonBuilder().registerTypeAdapter(Encounter.class, new EncounterAdapter(null)).create();
+            this.encountersType = new TypeToken<ArrayList<Encounter>>(){}.getType();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS adventures ("
+                        + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                        + "name TEXT NOT NULL UNIQUE, "
+                        + "encounters TEXT NOT NULL, "
+                        + "encounter_count INTEGER NOT NULL DEFAULT 0, "
+                        + "experience INTEGER NOT NULL DEFAULT 0)");
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("Couldn't create an Adventure DAO (SQL implementation) with path: " + path + ".", e);
+        }
+    }
+
+    /**
+     * Method that copies the adventures persisted by another DAO (usually the JSON one) into the table in a single
+     * transaction, replacing the ones with the same name.
+     *
+     * @param source the Data Access Object to read the adventures from
+     * @throws PersistenceException if something goes wrong when reading or writing the adventures
+     */
+    public synchronized void importFrom(AdventureDAO source) throws PersistenceException {
+        try {
+            ArrayList<Adventure> adventures = source.getAll();
+            SqlDatabase.inTransaction(connection, () -> {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "INSERT OR REPLACE INTO adventures (" + COLUMNS + ") VALUES (?, ?, ?, ?)")) {
+                    for (Adventure adventure : adventures) {
+                        bind(statement, adventure);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            });
+        } catch (IOException | SQLException e) {
+            throw new PersistenceException("Couldn't import the adventures into the database.", e);
+        }
+    }
+
+    /**
+     * Method that closes the connection to the database.
+     *
+     * @throws PersistenceException if something goes wrong when closing the connection
+     */
+    public synchronized void close() throws PersistenceException {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new PersistenceException("Couldn't close the Adventure database.", e);
+        }
+    }
+
+    /**
+     * Method that reads the persisted information of all adventures.
+     *
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public synchronized ArrayList<Adventure> getAll() throws IOException {
+        ArrayList<Adventure> adventures = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT name, encounters FROM adventures ORDER BY id");
+             ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                ArrayList<Encounter> encounters = gson.fromJson(rows.getString(2), encountersType);
+                adventures.add(new Adventure(rows.getString(1), encounters));
+            }
+        } catch (SQLException | JsonParseException e) {
+            throw new IOException("Couldn't read the Adventures (SQL implementation).", e);
+        }
+        return adventures;
+    }
+
+    /**
+     * Method that saves a specific adventure, persisting its information.
+     *
+     * @param adventure the adventure to save
+     * @throws PersistenceException if something goes wrong when persisting
+     */
+    @Override
+    public synchronized void save(Adventure adventure) throws PersistenceException {
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO adventures (" + COLUMNS + ") VALUES (?, ?, ?, ?)")) {
+            bind(statement, adventure);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new PersistenceException("Couldn't save an Adventure (SQL implementation).", e);
+        }
+    }
+
+    /**
+     * Method that reads the headers of all adventures from their header columns, without reading any encounter.
+     *
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public synchronized ArrayList<AdventureHeader> getHeaders() throws IOException {
+        ArrayList<AdventureHeader> headers = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT name, encounter_count, experience FROM adventures ORDER BY id");
+             ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                headers.add(new AdventureHeader(rows.getString(1), rows.getInt(2), rows.getInt(3)));
+            }
+        } catch (SQLException e) {
+            throw new IOException("Couldn't read the Adventure headers (SQL implementation).", e);
+        }
+        return headers;
+    }
+
+    /**
+     * Method that reads the persisted information of a specific adventure, using the index on the name.
+     *
+     * @param name a string representation of the name to use in the query
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public synchronized Adventure getByName(String name) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT name, encounters FROM adventures WHERE name = ?")) {
+            statement.setString(1, name);
+            try (ResultSet rows = statement.executeQuery()) {
+                if (!rows.next()) {
+                    return null;
+                }
+                ArrayList<Encounter> encounters = gson.fromJson(rows.getString(2), encountersType);
+                return new Adventure(rows.getString(1), encounters);
+            }
+        } catch (SQLException | JsonParseException e) {
+            throw new IOException("Couldn't read an Adventure (SQL implementation).", e);
+        }
+    }
+
+    /**
+     * Method that sets the parameters of an insert statement to the columns of an adventure, in {@link #COLUMNS} order.
+     *
+     * @param statement the statement
+     * @param adventure the adventure
+     * @throws SQLException if something goes wrong when setting the parameters
+     */
+    private void bind(PreparedStatement statement, Adventure adventure) throws SQLException {
+        AdventureHeader header = new AdventureHeader(adventure);
+        statement.setString(1, adventure.getName());
+        statement.setString(2, gson.toJson(adventure.getEncounters(), encountersType));
+        statement.setInt(3, header.getEncounters());
+        statement.setInt(4, header.getExperience());
+    }
+}
@@ -0,0 +1,356 @@
+package persistence.sql.character;
+
+import business.entities.Character;
+import persistence.exceptions.PersistenceException;
+import persistence.json.character.CharacterDAO;
+import persistence.sql.SqlDatabase;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+
+/**
+ * Class that implements the methods described in the {@link CharacterDAO} interface, persisting the characters in a
+ * table of an embedded SQLite database.
+ *
+ * <p>Character names are unique and indexed, and the player's name is also stored in lower case in an indexed column,
+ * which is what the queries by player use. Every change is a single-row statement (or a batch of them inside one
+ * transaction), so editing a character never rewrites the rest. Characters are returned in the order they were saved.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class CharacterSqlDAO implements CharacterDAO {
+
+    // Columns of a character, in the order used by every query
+    private static final String COLUMNS = "name, player, xp, body, mind, spirit, class";
+
+    // Connection to the database
+    private final Connection connection;
+
+    /**
+     * Parametrized constructor to persist characters in a database file, creating the table if it doesn't exist.
+     *
+     * @param path a string representation of the path of the database file (which is created if it doesn't exist)
+     * @throws PersistenceException if something goes wrong when opening the database or creating the table
+     */
+    public CharacterSqlDAO(String path) throws PersistenceException {
+        try {
+            this.connection = SqlDatabase.open(path);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS characters ("
+                        + "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                        + "name TEXT NOT NULL UNIQUE, "
+                        + "player TEXT NOT NULL, "
+                        + "player_lower TEXT NOT NULL, "
+                        + "xp INTEGER NOT NULL, "
+                        + "body INTEGER NOT NULL, "
+                        + "mind INTEGER NOT NULL, "
+                        + "spirit INTEGER NOT NULL, "
+                        + "class TEXT)");
+                statement.execute("CREATE INDEX IF NOT EXISTS characters_player_lower ON characters (player_lower)");
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("Couldn't create a Character DAO (SQL implementation) with path: " + path + ".", e);
+        }
+    }
+
+    /**
+     * Method that copies the characters persisted by another DAO (usually the JSON one) into the table in a single
+     * transaction, replacing the ones with the same name.
+     *
+     * @param source the Data Access Object to read the characters from
+     * @throws PersistenceException if something goes wrong when reading or writing the characters
+     */
+    public synchronized void importFrom(CharacterDAO source) throws PersistenceException {
+        try {
+            ArrayList<Character> characters = source.getAll();
+            SqlDatabase.inTransaction(connection, () -> {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "INSERT OR REPLACE INTO characters (" + COLUMNS + ", player_lower) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+                    for (Character character : characters) {
+                        bind(statement, character);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            });
+        } catch (IOException | SQLException e) {
+            throw new PersistenceException("Couldn't import the characters into the database.", e);
+        }
+    }
+
+    /**
+     * Method that closes the connection to the database.
+     *
+     * @throws PersistenceException if something goes wrong when closing the connection
+     */
+    public synchronized void close() throws PersistenceException {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new PersistenceException("Couldn't close the Character database.", e);
+        }
+    }
+
+    /**
+     * Method that reads the persisted information of all characters.
+     *
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public synchronized ArrayList<Character> getAll() throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + COLUMNS + " FROM characters ORDER BY id")) {
+            return query(statement);
+        } catch (SQLException e) {
+            throw new IOException("Couldn't read the Characters (SQL implementation).", e);
+        }
+    }
+
+    /**
+     * Method that saves a specific character, persisting its information.
+     *
+     * @param character the character to save
+     * @throws PersistenceException if something goes wrong when persisting (including a character with the same name already existing)
+     */
+    @Override
+    public synchronized void save(Character character) throws PersistenceException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO characters (" + COLUMNS + ", player_lower) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            bind(statement, character);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new PersistenceException("Couldn't save a Character (SQL implementation).", e);
+        }
+    }
+
+    /**
+     * Method that reads the persisted information of a set of characters, specifically those that are owned by a specific player.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public synchronized ArrayList<Character> getByPlayerName(String playerName) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT " + COLUMNS + " FROM characters WHERE player_lower LIKE ? ESCAPE '\\' ORDER BY id")) {
+            statement.setString(1, "%" + SqlDatabase.escapeLike(playerName.toLowerCase()) + "%");
+            return query(statement);
+        } catch (SQLException e) {
+            throw new IOException("Couldn't read the Characters of a player (SQL implementation).", e);
+        }
+    }
+
+    /**
+     * Method that reads a page of the characters owned by a specific player.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of characters to return
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public synchronized ArrayList<Character> getPageByPlayerName(String playerName, int offset, int limit) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT " + COLUMNS + " FROM characters WHERE player_lower LIKE ? ESCAPE '\\' ORDER BY id LIMIT ? OFFSET ?")) {
+            statement.setString(1, "%" + SqlDatabase.escapeLike(playerName.toLowerCase()) + "%");
+            statement.setInt(2, limit);
+            statement.setInt(3, offset);
+            return query(statement);
+        } catch (SQLException e) {
+            throw new IOException("Couldn't read the Characters of a player (SQL implementation).", e);
+        }
+    }
+
+    /**
+     * Method that reads the names of a page of the characters owned by a specific player.
+     *
+     * @param playerName a string representation of the name to use in the query
+     * @param offset the number of matching characters to skip
+     * @param limit the maximum number of names to return
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public synchronized ArrayList<String> getNamesByPlayerName(String playerName, int offset, int limit) throws IOException {
+        ArrayList<String> names = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT name FROM characters WHERE player_lower LIKE ? ESCAPE '\\' ORDER BY id LIMIT ? OFFSET ?")) {
+            statement.setString(1, "%" + SqlDatabase.escapeLike(playerName.toLowerCase()) + "%");
+            statement.setInt(2, limit);
+            statement.setInt(3, offset);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    names.add(rows.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Couldn't read the names of the Characters of a player (SQL implementation).", e);
+        }
+        return names;
+    }
+
+    /**
+     * Method that deletes a specific character, removing its information.
+     *
+     * @param character the character to delete
+     * @throws PersistenceException if something goes wrong when persisting
+     */
+    @Override
+    public synchronized void delete(Character character) throws PersistenceException {
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM characters WHERE name = ?")) {
+            statement.setString(1, character.getName());
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new PersistenceException("Couldn't delete a Character (SQL implementation).", e);
+        }
+    }
+
+    /**
+     * Method that reads the persisted information of a specific character, specifically the one with a specific name.
+     *
+     * @param name a string representation of the name to use in the query
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public synchronized Character getByCharacterName(String name) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + COLUMNS + " FROM characters WHERE name = ?")) {
+            statement.setString(1, name);
+            ArrayList<Character> found = query(statement);
+            return found.isEmpty() ? null : found.get(0);
+        } catch (SQLException e) {
+            throw new IOException("Couldn't read a Character (SQL implementation).", e);
+        }
+    }
+
+    /**
+     * Method that reads the persisted information of several characters, specifically the ones with the given names.
+     *
+     * @param names string representations of the names to use in the query
+     * @throws IOException if something goes wrong when querying the persisted data
+     */
+    @Override
+    public synchronized ArrayList<Character> getByCharacterNames(String[] names) throws IOException {
+        ArrayList<Character> characters = new ArrayList<>(Collections.nCopies(names.length, null));
+        if (names.length == 0) {
+            return characters;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(names.length, "?"));
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT " + COLUMNS + " FROM characters WHERE name IN (" + placeholders + ")")) {
+            for (int i = 0; i < names.length; i++) {
+                statement.setString(i + 1, names[i]);
+            }
+            HashMap<String, Character> byName = new HashMap<>();
+            for (Character character : query(statement)) {
+                byName.put(character.getName(), character);
+            }
+            for (int i = 0; i < names.length; i++) {
+                characters.set(i, byName.get(names[i]));
+            }
+            return characters;
+        } catch (SQLException e) {
+            throw new IOException("Couldn't read the Characters (SQL implementation).", e);
+        }
+    }
+
+    /**
+     * Method that updates a specific character, persisting its information.
+     *
+     * @param character the character to update
+     * @throws PersistenceException if something goes wrong when persisting
+     */
+    @Override
+    public synchronized void update(Character character) throws PersistenceException {
+        try {
+            SqlDatabase.inTransaction(connection, () -> {
+                try (PreparedStatement statement = prepareUpdate()) {
+                    bind(statement, character);
+                    statement.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            throw new PersistenceException("Couldn't update a Character (SQL implementation).", e);
+        }
+    }
+
+    /**
+     * Method that updates several characters at once, in a single transaction.
+     *
+     * @param characters the characters to update
+     * @throws PersistenceException if something goes wrong when persisting
+     */
+    @Override
+    public synchronized void updateAll(ArrayList<Character> characters) throws PersistenceException {
+        try {
+            SqlDatabase.inTransaction(connection, () -> {
+                try (PreparedStatement statement = prepareUpdate()) {
+                    for (Character character : characters) {
+                        bind(statement, character);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            });
+        } catch (SQLException e) {
+            throw new PersistenceException("Couldn't update the Characters (SQL implementation).", e);
+        }
+    }
+
+    /**
+     * Method that prepares the statement that updates a character by its name.
+     *
+     * <p>Characters that don't exist yet are inserted, as the JSON implementation does.
+     *
+     * @return the prepared statement
+     * @throws SQLException if something goes wrong when preparing the statement
+     */
+    private PreparedStatement prepareUpdate() throws SQLException {
+        return connection.prepareStatement("INSERT INTO characters (" + COLUMNS + ", player_lower) VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
+                + "ON CONFLICT (name) DO UPDATE SET player = excluded.player, player_lower = excluded.player_lower, "
+                + "xp = excluded.xp, body = excluded.body, mind = excluded.mind, spirit = excluded.spirit, class = excluded.class");
+    }
+
+    /**
+     * Method that sets the parameters of an insert statement to the columns of a character, in {@link #COLUMNS} order
+     * followed by the player's name in lower case.
+     *
+     * @param statement the statement
+     * @param character the character
+     * @throws SQLException if something goes wrong when setting the parameters
+     */
+    private static void bind(PreparedStatement statement, Character character) throws SQLException {
+        statement.setString(1, character.getName());
+        statement.setString(2, character.getPlayer());
+        statement.setInt(3, character.getXp());
+        statement.setInt(4, character.getBody());
+        statement.setInt(5, character.getMind());
+        statement.setInt(6, character.getSpirit());
+        statement.setString(7, character.getClass_());
+        statement.setString(8, character.getPlayer().toLowerCase());
+    }
+
+    /**
+     * Method that runs a query and builds a character from every row.
+     *
+     * @param statement the query, with its parameters set
+     * @return the characters, in the order of the rows
+     * @throws SQLException if something goes wrong when running the query
+     */
+    private static ArrayList<Character> query(PreparedStatement statement) throws SQLException {
+        ArrayList<Character> characters = new ArrayList<>();
+        try (ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                characters.add(new Character(rows.getString(1), rows.getString(2), rows.getInt(3), rows.getInt(4),
+                        rows.getInt(5), rows.getInt(6), rows.getString(7)));
+            }
+        }
+        return characters;
+    }
+}
@@ -0,0 +1,81 @@
+package presentation;
+
+import persistence.exceptions.MonsterFileNotFoundException;
+import persistence.exceptions.PersistenceException;
+import persistence.json.adventure.AdventureJsonDAO;
+import persistence.json.monster.CachedMonsterDAO;
+import persistence.json.monster.MonsterDAO;
+import persistence.json.monster.MonsterJsonDAO;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Class that rewrites an adventures file so that its encounters reference the monster catalog instead of holding a
+ * full copy of every monster, reporting the file size and the time it takes to load it before and after.
+ *
+ * <p>Usage: {@code AdventureMigration [adventures file] [monsters file]}, which default to {@code data/adventures.json}
+ * and {@code data/monsters.json}. The file keeps the format it already has; {@link CodecMigration} changes that.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public final class AdventureMigration {
+
+    /**
+     * Private constructor, as this class only has static methods.
+     */
+    private AdventureMigration() {
+    }
+
+    /**
+     * Method that migrates the adventures file given as an argument, resolving its monsters against the monsters file
+     * given as an argument.
+     *
+     * @param args the adventures file and the monsters file, both optional
+     */
+    public static void main(String[] args) {
+        if (args.length > 2) {
+            System.err.println("Usage: AdventureMigration [adventures file] [monsters file]");
+            System.exit(1);
+        }
+        String adventures = args.length > 0 ? args[0] : "data/adventures.json";
+        String monsters = args.length > 1 ? args[1] : "data/monsters.json";
+
+        Path path = Paths.get(adventures);
+        try {
+            MonsterDAO catalog = new CachedMonsterDAO(new MonsterJsonDAO(monsters), monsters);
+            AdventureJsonDAO dao = new AdventureJsonDAO(adventures, catalog);
+
+            long sizeBefore = Files.size(path);
+            // The first read also pays for loading the classes and the catalog, so it isn't measured
+            dao.getAll();
+            long loadBefore = timeLoad(dao);
+            int elements = dao.normalize();
+            long sizeAfter = Files.size(path);
+            long loadAfter = timeLoad(dao);
+
+            System.out.println("Normalized " + elements + " adventures of " + path + ".");
+            System.out.println("Size: " + sizeBefore + " -> " + sizeAfter + " bytes.");
+            System.out.printf("Load time: %.2f -> %.2f ms.%n", loadBefore / 1e6, loadAfter / 1e6);
+        } catch (IOException | PersistenceException | MonsterFileNotFoundException e) {
+            System.err.println("Couldn't migrate " + path + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Method that measures how long it takes to read every adventure of a file.
+     *
+     * @param dao the Data Access Object of the file
+     * @return the time it took, in nanoseconds
+     * @throws IOException if something goes wrong when reading the file
+     */
+    private static long timeLoad(AdventureJsonDAO dao) throws IOException {
+        long start = System.nanoTime();
+        dao.getAll();
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,84 @@
+package presentation;
+
+import business.BusinessFacade;
+import business.BusinessFacadeImpl;
+import business.entities.Adventure;
+import business.entities.Character;
+import business.entities.SimulationReport;
+import persistence.exceptions.MonsterFileNotFoundException;
+import persistence.exceptions.PersistenceException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Command line tool that estimates how likely a party of existing characters is to complete an existing adventure,
+ * so that game masters can check an adventure before running it.
+ *
+ * <p>Usage: {@code AdventureSimulation <runs> <adventure> <character> <character> <character> [character] [character]}
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public final class AdventureSimulation {
+
+    /**
+     * Private constructor, as the class only holds the main method.
+     */
+    private AdventureSimulation() {
+    }
+
+    /**
+     * The tool's main method, which prints the estimation of the adventure.
+     *
+     * @param args the number of playthroughs, the name of the adventure and the names of the characters of the party
+     */
+    public static void main(String[] args) {
+        if (args.length < 5 || args.length > 7) {
+            System.err.println("Usage: AdventureSimulation <runs> <adventure> <character> <character> <character> [character] [character]");
+            System.exit(1);
+        }
+
+        try {
+            int runs = Integer.parseInt(args[0]);
+            BusinessFacade business = new BusinessFacadeImpl();
+            Adventure adventure = business.findAdventureByName(args[1]);
+            String[] partyNames = Arrays.copyOfRange(args, 2, args.length);
+            ArrayList<Character> party = business.createAdventureParty(partyNames);
+            if (adventure == null || party.size() != partyNames.length) {
+                System.err.println("Couldn't find the adventure or some of the characters.");
+                System.exit(1);
+            }
+
+            long start = System.nanoTime();
+            SimulationReport report = business.simulateAdventure(party, adventure, runs);
+            long elapsed = System.nanoTime() - start;
+
+            System.out.printf("%d playthroughs of %s in %.0f ms.%n", report.getRuns(), adventure.getName(), elapsed / 1e6);
+            System.out.printf("Win probability: %.2f%% (%.0f%% confidence interval: %.2f%% - %.2f%%)%n",
+                    report.getWinProbability() * 100, report.getConfidence() * 100,
+                    report.getLowerBound() * 100, report.getUpperBound() * 100);
+            for (int i = 0; i < report.getEncounters(); i++) {
+                long[] histogram = report.getRoundsHistogram(i);
+                StringBuilder rounds = new StringBuilder();
+                for (int j = 1; j < histogram.length; j++) {
+                    if (histogram[j] > 0) {
+                        rounds.append(' ').append(j).append(':').append(histogram[j]);
+                    }
+                }
+                System.out.println("Rounds of encounter " + (i + 1) + ":" + (rounds.length() == 0 ? " never played" : rounds));
+            }
+            for (Map.Entry<String, Double> knockout : report.getKnockoutRates().entrySet()) {
+                System.out.printf("%s knocked out in %.2f%% of the playthroughs%n", knockout.getKey(), knockout.getValue() * 100);
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("The number of playthroughs must be a number: " + args[0]);
+            System.exit(1);
+        } catch (IllegalArgumentException | IOException | PersistenceException | MonsterFileNotFoundException e) {
+            System.err.println("Couldn't simulate the adventure: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package presentation;
+
+import persistence.exceptions.PersistenceException;
+import persistence.json.character.ShardedCharacterDAO;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Command line tool that redistributes the characters of a sharded directory into a different number of shards,
+ * reporting how long it takes.
+ *
+ * <p>Usage: {@code CharacterReshard <shards directory> <shards>}
+ *
+ * <p>Inside the application, {@link ShardedCharacterDAO#reshard(int)} runs while the characters are in use. Resharding
+ * is only coordinated with the threads of the same process, though, so this tool must be run while the application
+ * isn't using the directory.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public final class CharacterReshard {
+
+    /**
+     * Private constructor, as the class only holds the main method.
+     */
+    private CharacterReshard() {
+    }
+
+    /**
+     * The tool's main method, which reshards the directory given as an argument.
+     *
+     * @param args the shards directory and the new number of shards
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: CharacterReshard <shards directory> <shards>");
+            System.exit(1);
+        }
+
+        try {
+            int shardCount = Integer.parseInt(args[1]);
+            if (shardCount < 1) {
+                throw new NumberFormatException();
+            }
+            if (!Files.exists(Paths.get(args[0], "manifest.json"))) {
+                System.err.println("There are no shards in " + args[0] + ".");
+                System.exit(1);
+            }
+
+            ShardedCharacterDAO dao = new ShardedCharacterDAO(args[0], shardCount);
+            int before = dao.getShardCount();
+            long start = System.nanoTime();
+            dao.reshard(shardCount);
+            long elapsed = System.nanoTime() - start;
+
+            System.out.printf("Resharded %d characters of %s from %d to %d shards in %.0f ms.%n",
+                    dao.getAll().size(), args[0], before, dao.getShardCount(), elapsed / 1e6);
+        } catch (NumberFormatException e) {
+            System.err.println("The number of shards must be a positive number: " + args[1]);
+            System.exit(1);
+        } catch (PersistenceException | IOException e) {
+            System.err.println("Couldn't reshard " + args[0] + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
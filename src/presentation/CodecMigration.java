@@ -0,0 +1,86 @@
+package presentation;
+
+import com.google.gson.JsonArray;
+import persistence.json.JsonFiles;
+import persistence.json.codec.Codec;
+import persistence.json.codec.Codecs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Class that rewrites a data file with a different codec, reporting the file size and the time it takes to load it
+ * before and after.
+ *
+ * <p>Usage: {@code CodecMigration <file> <pretty|compact|binary>}
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public final class CodecMigration {
+
+    /**
+     * Private constructor, as this class only has static methods.
+     */
+    private CodecMigration() {
+    }
+
+    /**
+     * Method that migrates the file given as an argument to the codec given as an argument.
+     *
+     * @param args the file to migrate and the name of the target codec
+     */
+    public static void main(String[] args) {
+        if (args.length != 2 || Codecs.forName(args[1]) == null) {
+            System.err.println("Usage: CodecMigration <file> <pretty|compact|binary>");
+            System.exit(1);
+        }
+
+        Path path = Paths.get(args[0]);
+        try {
+            long sizeBefore = Files.size(path);
+            // The first read also pays for loading the classes, so it isn't measured
+            JsonFiles.readArray(path);
+            long loadBefore = timeLoad(path);
+            int elements = migrate(path, Codecs.forName(args[1]));
+            long sizeAfter = Files.size(path);
+            long loadAfter = timeLoad(path);
+
+            System.out.println("Migrated " + elements + " elements of " + path + " to " + args[1] + ".");
+            System.out.println("Size: " + sizeBefore + " -> " + sizeAfter + " bytes.");
+            System.out.printf("Load time: %.2f -> %.2f ms.%n", loadBefore / 1e6, loadAfter / 1e6);
+        } catch (IOException e) {
+            System.err.println("Couldn't migrate " + path + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Method that rewrites a file with a codec, whatever codec it was written with.
+     *
+     * @param path the file to rewrite
+     * @param codec the codec to write the file with
+     * @return the number of elements in the file
+     * @throws IOException if something goes wrong when reading or writing the file
+     */
+    public static int migrate(Path path, Codec codec) throws IOException {
+        JsonArray elements = JsonFiles.readArray(path);
+        JsonFiles.writeArray(path, elements, codec);
+        return elements.size();
+    }
+
+    /**
+     * Method that measures how long it takes to read every element of a file.
+     *
+     * @param path the file to read
+     * @return the time it took, in nanoseconds
+     * @throws IOException if something goes wrong when reading the file
+     */
+    private static long timeLoad(Path path) throws IOException {
+        long start = System.nanoTime();
+        JsonFiles.readArray(path);
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,97 @@
+package presentation;
+
+import business.CombatListener;
+import business.entities.Adventure;
+import business.entities.Character;
+import business.entities.Encounter;
+import presentation.views.UIManager;
+
+import java.util.ArrayList;
+
+/**
+ * Class that implements the methods described in the {@link CombatListener} interface, showing the user everything that
+ * happens while an adventure is played.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public class ConsoleCombatListener implements CombatListener {
+
+    // Instance of any class implementing the UIManager interface, to show the adventure to the user
+    private final UIManager ui;
+
+    /**
+     * Parametrized constructor to show an adventure through a user interface.
+     *
+     * @param ui an instance of any class implementing the UIManager interface
+     */
+    public ConsoleCombatListener(UIManager ui) {
+        this.ui = ui;
+    }
+
+    @Override
+    public boolean followsActions() {
+        return true;
+    }
+
+    @Override
+    public void encounterStarted(int number, Encounter encounter) {
+        ui.showEncounterDescription(number, encounter);
+    }
+
+    @Override
+    public void preparationDone(ArrayList<Character> adventureParty) {
+        ui.showPreparationStageActions(adventureParty);
+    }
+
+    @Override
+    public void combatOrderSet(ArrayList<Character> adventureParty, Encounter encounter) {
+        ui.showCombatOrder(adventureParty, encounter);
+    }
+
+    @Override
+    public void combatStarted() {
+        ui.showCombatStageSign();
+    }
+
+    @Override
+    public void roundStarted(int round, ArrayList<Character> adventureParty) {
+        ui.showRoundAndHP(round, adventureParty);
+    }
+
+    @Override
+    public void actionTaken(int hit, int damage, ArrayList<Character> adventureParty, Encounter encounter, int combatant) {
+        ui.showCombatAction(hit, damage, adventureParty, encounter, combatant);
+    }
+
+    @Override
+    public void roundEnded(int round) {
+        ui.endOfRoundMessage(round);
+    }
+
+    @Override
+    public void partyDefeated() {
+        ui.showDefeatMessage();
+    }
+
+    @Override
+    public void encounterWon() {
+        ui.showEncounterVictoryMessage();
+        ui.showShortRestHeader();
+    }
+
+    @Override
+    public void experienceGained(Character character, int xpGained, boolean levelUp, int level) {
+        ui.showExperienceGain(character, xpGained, levelUp, level);
+    }
+
+    @Override
+    public void shortRestTaken(Character character, int healing) {
+        ui.showShortRestActions(character, healing);
+    }
+
+    @Override
+    public void adventureWon(Adventure adventure) {
+        ui.showAdventureVictoryMessage(adventure.getName());
+    }
+}
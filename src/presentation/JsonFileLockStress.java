@@ -0,0 +1,198 @@
+package presentation;
+
+import business.entities.Character;
+import persistence.exceptions.PersistenceException;
+import persistence.json.character.CharacterJsonDAO;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class that checks that no change to a data file is lost and no reader sees a partial file when several threads of
+ * several processes use it at once, as {@link persistence.json.JsonFileLock} promises.
+ *
+ * <p>Usage: {@code JsonFileLockStress [processes] [writers] [readers] [characters per writer]}, which default to 2
+ * processes with 6 writer threads, 2 reader threads and 30 characters per writer. Each process saves characters with
+ * unique names into the same file through a {@link CharacterJsonDAO} while its readers keep reading the file; once they
+ * are all done, every character saved has to be in the file. The file is created in a temporary directory, so the data
+ * files are never touched. It exits with status 1 if anything was lost or a read failed.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public final class JsonFileLockStress {
+
+    // Argument that makes the process one of the workers instead of the one starting them
+    private static final String WORKER = "--worker";
+
+    /**
+     * Private constructor, as this class only has static methods.
+     */
+    private JsonFileLockStress() {
+    }
+
+    /**
+     * Method that starts the worker processes and checks the file once they are done, or works on the file if it's
+     * one of the workers.
+     *
+     * @param args the number of processes, writers, readers and characters per writer, all optional
+     */
+    public static void main(String[] args) {
+        try {
+            if (args.length > 0 && args[0].equals(WORKER)) {
+                int failures = work(Paths.get(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+                        Integer.parseInt(args[4]), Integer.parseInt(args[5]));
+                System.exit(failures == 0 ? 0 : 1);
+            }
+            if (args.length > 4) {
+                System.err.println("Usage: JsonFileLockStress [processes] [writers] [readers] [characters per writer]");
+                System.exit(1);
+            }
+            int processes = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+            int writers = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+            int readers = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+            int characters = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+            System.exit(run(processes, writers, readers, characters) ? 0 : 1);
+        } catch (NumberFormatException e) {
+            System.err.println("Every argument must be a number.");
+            System.exit(1);
+        } catch (IOException | PersistenceException | InterruptedException e) {
+            System.err.println("Couldn't run the stress test: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Method that starts the worker processes on a new file and checks that every character they saved is in it.
+     *
+     * @param processes the number of worker processes
+     * @param writers the number of writer threads of each process
+     * @param readers the number of reader threads of each process
+     * @param characters the number of characters saved by each writer
+     * @return whether every character was kept and every read succeeded or not
+     * @throws IOException if something goes wrong when creating or reading the file
+     * @throws PersistenceException if the file can't be opened
+     * @throws InterruptedException if the thread is interrupted while waiting for the workers
+     */
+    private static boolean run(int processes, int writers, int readers, int characters)
+            throws IOException, PersistenceException, InterruptedException {
+        Path directory = Files.createTempDirectory("json-lock-stress");
+        Path file = directory.resolve("characters.json");
+        Files.writeString(file, "[]");
+
+        String java = ProcessHandle.current().info().command().orElse("java");
+        ArrayList<Process> workers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int process = 0; process < processes; process++) {
+            workers.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    JsonFileLockStress.class.getName(), WORKER, file.toString(), String.valueOf(process),
+                    String.valueOf(writers), String.valueOf(readers), String.valueOf(characters))
+                    .inheritIO()
+                    .start());
+        }
+        boolean workersOk = true;
+        for (Process worker : workers) {
+            workersOk &= worker.waitFor() == 0;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        HashSet<String> names = new HashSet<>();
+        for (Character character : new CharacterJsonDAO(file.toString()).getAll()) {
+            names.add(character.getName());
+        }
+        int missing = 0;
+        for (int process = 0; process < processes; process++) {
+            for (int writer = 0; writer < writers; writer++) {
+                for (int i = 0; i < characters; i++) {
+                    if (!names.contains(name(process, writer, i))) {
+                        missing++;
+                    }
+                }
+            }
+        }
+
+        int expected = processes * writers * characters;
+        System.out.printf("%d processes x %d writers x %d characters in %.0f ms: %d of %d characters kept, %s.%n",
+                processes, writers, characters, elapsed / 1e6, expected - missing, expected,
+                workersOk ? "every read succeeded" : "some reads or writes failed");
+        return missing == 0 && names.size() == expected && workersOk;
+    }
+
+    /**
+     * Method that saves the characters of a worker process while its readers keep reading the file.
+     *
+     * @param file the file shared by every process
+     * @param process the number of the process
+     * @param writers the number of writer threads
+     * @param readers the number of reader threads
+     * @param characters the number of characters saved by each writer
+     * @return the number of reads and writes that failed
+     * @throws PersistenceException if the file can't be opened
+     * @throws InterruptedException if the thread is interrupted while waiting for the writers and readers
+     */
+    private static int work(Path file, int process, int writers, int readers, int characters)
+            throws PersistenceException, InterruptedException {
+        CharacterJsonDAO dao = new CharacterJsonDAO(file.toString());
+        AtomicInteger failures = new AtomicInteger();
+        AtomicInteger writing = new AtomicInteger(writers);
+
+        ArrayList<Thread> threads = new ArrayList<>();
+        for (int writer = 0; writer < writers; writer++) {
+            int number = writer;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < characters; i++) {
+                    try {
+                        dao.save(new Character(name(process, number, i), "stress", 0, 1, 1, 1, "Adventurer"));
+                    } catch (IOException | PersistenceException e) {
+                        failures.incrementAndGet();
+                        System.err.println("Write failed: " + e.getMessage());
+                    }
+                }
+                writing.decrementAndGet();
+            }));
+        }
+        for (int reader = 0; reader < readers; reader++) {
+            threads.add(new Thread(() -> {
+                int seen = 0;
+                while (writing.get() > 0) {
+                    try {
+                        int read = dao.getAll().size();
+                        // Characters are only ever added, so a read with fewer of them means a lost or torn write
+                        if (read < seen) {
+                            failures.incrementAndGet();
+                            System.err.println("Read " + read + " characters after having read " + seen + ".");
+                        }
+                        seen = Math.max(seen, read);
+                    } catch (IOException | RuntimeException e) {
+                        failures.incrementAndGet();
+                        System.err.println("Read failed: " + e.getMessage());
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return failures.get();
+    }
+
+    /**
+     * Method that builds the unique name of a character saved by a writer.
+     *
+     * @param process the number of the process
+     * @param writer the number of the writer thread
+     * @param i the number of the character
+     * @return the name
+     */
+    private static String name(int process, int writer, int i) {
+        return "Stress" + process + "x" + writer + "x" + i;
+    }
+}
@@ -0,0 +1,76 @@
+package presentation;
+
+import persistence.exceptions.MonsterFileNotFoundException;
+import persistence.exceptions.PersistenceException;
+import persistence.json.adventure.AdventureJsonDAO;
+import persistence.json.character.CharacterJsonDAO;
+import persistence.json.monster.MonsterJsonDAO;
+import persistence.sql.adventure.AdventureSqlDAO;
+import persistence.sql.character.CharacterSqlDAO;
+
+/**
+ * Class that copies the characters and adventures in the JSON data files into the embedded database, replacing the
+ * ones with the same name, so it can be run again whenever the JSON files change.
+ *
+ * <p>Usage: {@code SqlImporter [database] [characters.json] [adventures.json] [monsters.json]}, which defaults to
+ * {@code data/lsrpg.db}, {@code data/characters.json}, {@code data/adventures.json} and {@code data/monsters.json}. The
+ * monsters file is the catalog the encounters of the adventures reference.
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public final class SqlImporter {
+
+    /**
+     * Private constructor, as this class only has static methods.
+     */
+    private SqlImporter() {
+    }
+
+    /**
+     * Method that imports the JSON files given as arguments (or the default ones) into the database.
+     *
+     * @param args the database, the characters file, the adventures file and the monsters file, all optional
+     */
+    public static void main(String[] args) {
+        String database = args.length > 0 ? args[0] : "data/lsrpg.db";
+        String characters = args.length > 1 ? args[1] : "data/characters.json";
+        String adventures = args.length > 2 ? args[2] : "data/adventures.json";
+        String monsters = args.length > 3 ? args[3] : "data/monsters.json";
+
+        try {
+            importJson(database, characters, adventures, monsters);
+            System.out.println("Imported " + characters + " and " + adventures + " into " + database + ".");
+        } catch (PersistenceException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Method that imports the characters and adventures of JSON files into a database.
+     *
+     * @param database a string representation of the path of the database file
+     * @param characters a string representation of the path of the characters file
+     * @param adventures a string representation of the path of the adventures file
+     * @param monsters a string representation of the path of the monsters file the adventures reference
+     * @throws PersistenceException if something goes wrong when reading the files or writing the database
+     */
+    public static void importJson(String database, String characters, String adventures, String monsters) throws PersistenceException {
+        CharacterSqlDAO characterDAO = new CharacterSqlDAO(database);
+        try {
+            characterDAO.importFrom(new CharacterJsonDAO(characters));
+        } finally {
+            characterDAO.close();
+        }
+
+        AdventureSqlDAO adventureDAO = new AdventureSqlDAO(database);
+        try {
+            adventureDAO.importFrom(new AdventureJsonDAO(adventures, new MonsterJsonDAO(monsters)));
+        } catch (MonsterFileNotFoundException e) {
+            throw new PersistenceException("Couldn't open the monsters file " + monsters + ".", e);
+        } finally {
+            adventureDAO.close();
+        }
+    }
+}
@@ -1,16 +1,22 @@
 package presentation;
 
+import business.AsyncBusinessFacade;
 import business.BusinessFacade;
 import business.entities.Adventure;
+import business.entities.AdventureHeader;
+import business.entities.AdventureOutcome;
 import business.entities.Character;
+import business.entities.CharacterPage;
 import business.entities.Encounter;
-import business.entities.Monster;
+import business.entities.MonsterTemplate;
 import persistence.exceptions.PersistenceException;
+import presentation.views.PageMenuOptions;
 import presentation.views.UIManager;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import static presentation.views.EncounterMenuOptions.*;
 
@@ -22,10 +28,16 @@ import static presentation.views.EncounterMenuOptions.*;
  * @version 1.0
  */
 public class UIController {
+    // Number of characters shown at once when listing them
+    private static final int CHARACTER_PAGE_SIZE = 10;
     // Instance of any class implementing the BusinessFacade interface, to talk to business layer
     private final BusinessFacade businessLayer;
+    // Same business layer, used to read the data files in the background while the user goes through the menus
+    private final AsyncBusinessFacade asyncBusinessLayer;
     // Instance of any class implementing the UIManager interface, to talk to the rest of the presentation layer
     private final UIManager ui;
+    // Listener that shows the user everything that happens while an adventure is played
+    private final ConsoleCombatListener combatListener;
 
 
     /**
@@ -37,6 +49,8 @@ public class UIController {
     public UIController(UIManager ui, BusinessFacade businessFacade) {
         this.ui = ui;
         this.businessLayer = businessFacade;
+        this.asyncBusinessLayer = new AsyncBusinessFacade(businessFacade);
+        this.combatListener = new ConsoleCombatListener(ui);
     }
 
     /**
@@ -54,17 +68,26 @@ public class UIController {
         int[] stats;
         boolean ok;
         int choice;
-        ArrayList<Character> characters;
-        ArrayList<Monster> monsters = new ArrayList<>();
-        ArrayList<Adventure> adventures = new ArrayList<>();
+        ArrayList<MonsterTemplate> monsters = new ArrayList<>();
+        ArrayList<AdventureHeader> adventures = new ArrayList<>();
         ArrayList<Encounter> encounters;
         String[] names;
         int numEncounters;
         String adventureName = new String();
         int counter;
+        int page;
+        CharacterPage characterPage;
+        PageMenuOptions pageOption;
+        Character chosenCharacter;
+        CompletableFuture<ArrayList<MonsterTemplate>> monstersFuture;
+        CompletableFuture<ArrayList<AdventureHeader>> adventuresFuture;
 
         ui.showHeader();
 
+        // Reading the monsters and adventures once while the user goes through the menus, in case they are needed
+        monstersFuture = asyncBusinessLayer.findMonsters();
+        adventuresFuture = asyncBusinessLayer.findAdventureHeaders();
+
         while (option) {
             switch (ui.showMainMenu(businessLayer.checkNumCharacters())) {
                 case CHARACTER_CREATION:
@@ -96,11 +119,20 @@ public class UIController {
                     break;
                 case LIST_CHARACTERS:
                     playerName = ui.requestPlayerNameToList();
-                    characters = businessLayer.findCharacterByPlayerName(playerName);
-                    names = businessLayer.extractNamesFromCharacters(characters);
-                    //get names and then send the name to businesss to get the full info in A character
                     ui.showCharacterListMessage();
-                    ui.showCharacterList(names);
+                    page = 0;
+                    do {
+                        // Only the names in the page are read, however many characters the player has
+                        characterPage = businessLayer.findCharacterPageByPlayerName(playerName, page, CHARACTER_PAGE_SIZE);
+                        names = characterPage.getNames();
+                        ui.showCharacterPage(names, page);
+                        pageOption = ui.requestPageOption(characterPage.hasPrevious(), characterPage.hasNext());
+                        if (pageOption == PageMenuOptions.NEXT_PAGE) {
+                            page++;
+                        } else if (pageOption == PageMenuOptions.PREVIOUS_PAGE) {
+                            page--;
+                        }
+                    } while (pageOption != PageMenuOptions.CHOOSE);
                     if (names.length == 0){
                         break;
                     }
@@ -110,18 +142,21 @@ public class UIController {
                             //we do nothing since the user just goes back to the main menu
                         } else if (!businessLayer.checkChoiceValid(names.length, choice)) {
                             ui.showErrorWrongOptionMessage();
+                        } else if ((chosenCharacter = businessLayer.findCharacterByName(names[choice - 1])) == null) {
+                            // The character was removed after the list was shown
+                            ui.showErrorWrongOptionMessage();
                         } else {
                             boolean removeDecided = false;
-                            level = businessLayer.translateExpToLevel(characters.get(choice - 1).getXp());
-                            ui.showCharacterFullInfo(characters.get(choice - 1), level);
+                            level = businessLayer.translateExpToLevel(chosenCharacter.getXp());
+                            ui.showCharacterFullInfo(chosenCharacter, level);
                             while (!removeDecided) {
-                                String decision = ui.askToRemove(characters.get(choice - 1));
+                                String decision = ui.askToRemove(chosenCharacter);
                                 decision.trim();
                                 if (decision.equals("")) {
                                     removeDecided = true;
-                                } else if (businessLayer.decisionEqualsName(decision, characters.get(choice - 1))) {
-                                    ok = businessLayer.removeCharacter(characters.get(choice - 1));
-                                    ui.showCharacterRemoved(characters.get(choice - 1));
+                                } else if (businessLayer.decisionEqualsName(decision, chosenCharacter)) {
+                                    ok = businessLayer.removeCharacter(chosenCharacter);
+                                    ui.showCharacterRemoved(chosenCharacter);
                                     removeDecided = true;
                                 } else {
                                     ui.showErrorWrongOptionMessage();
@@ -159,7 +194,10 @@ public class UIController {
                                 numEncounters)) {
                                     case ADD_MONSTER:
                                         //Show numerated monster's list : monster's name (difficulty)
-                                        monsters = businessLayer.findMonsters();
+                                        if (monstersFuture.isCompletedExceptionally()) {
+                                            monstersFuture = asyncBusinessLayer.findMonsters();
+                                        }
+                                        monsters = monstersFuture.join();
                                         ui.showMonstersList(monsters);
                                         int num = ui.requestMonsterToAdd(monsters.size());
                                         int quantity = ui.requestQuantityMonsters(monsters.get(num - 1).getName());
@@ -202,6 +240,8 @@ public class UIController {
                                 }
                             }
                             businessLayer.addNewAdventure(adventureName, encounters);
+                            // The new adventure has to be listed, so the adventures read before are stale
+                            adventuresFuture = asyncBusinessLayer.findAdventureHeaders();
 
                         }
                     }
@@ -212,7 +252,10 @@ public class UIController {
                         break;
                     } else {
                         ui.showAdventureMessage();
-                        adventures = businessLayer.findAdventures();
+                        if (adventuresFuture.isCompletedExceptionally()) {
+                            adventuresFuture = asyncBusinessLayer.findAdventureHeaders();
+                        }
+                        adventures = adventuresFuture.join();
                         int adventure;
                         do {
                             ui.showAdventuresList(adventures);
@@ -222,6 +265,13 @@ public class UIController {
                             }
                         } while (adventure < 1 || adventure > adventures.size());
 
+                        // Only the chosen adventure is read with its encounters
+                        Adventure adventureToPlay = businessLayer.findAdventureByName(adventures.get(adventure - 1).getName());
+                        if (adventureToPlay == null) {
+                            ui.showErrorWrongOptionMessage();
+                            break;
+                        }
+
                         int party;
                         do {
                             party = ui.requestNumCharacters(adventures.get(adventure - 1).getName());
@@ -233,109 +283,35 @@ public class UIController {
                         ui.showCharacterChoosingMessage(party);
 
                         String[] partyNames = new String[party];
+                        // The roster doesn't change while choosing, so the names are only read once
+                        names = businessLayer.findCharacterNamesByPlayerName("\n");
 
                         counter = 0;
                         while (counter < party) {
 
                             ui.showParty(counter, party, partyNames);
-                            // Esta función es la misma, podriamos separarla al final.
-                            characters = businessLayer.findCharacterByPlayerName("\n");
-                            names = businessLayer.extractNamesFromCharacters(characters);
                             ui.showAvailableMessage();
                             ui.showCharacterList(names);
                             // Pedir el character y añadirlo a la array
                             int character = ui.requestCharacterParty(counter + 1);
-                            if (character < 1 || character > characters.size()) {
+                            if (character < 1 || character > names.length) {
                                 ui.showErrorWrongOptionMessage();
                             } else {
-                                if (businessLayer.checkCharacterInParty(partyNames, characters.get(character - 1).getName())) {
+                                if (businessLayer.checkCharacterInParty(partyNames, names[character - 1])) {
                                     ui.showErrorCharacterInParty();
                                 } else {
-                                    partyNames[counter] = characters.get(character - 1).getName();
+                                    partyNames[counter] = names[character - 1];
                                     counter++;
                                 }
                             }
                         }
                         ui.showFullParty(party, partyNames, adventures.get(adventure - 1).getName());
 
-                        // Start adventure
+                        // Start adventure, showing every step of it to the user
                         ArrayList<Character> adventureParty = businessLayer.createAdventureParty(partyNames);
-                        for (Character character : adventureParty) {
-                            businessLayer.initializeHP(character);
-                        }
-                        Adventure adventureToPlay = adventures.get(adventure - 1);
-                        businessLayer.initializeCurrentHPMonsters(adventureToPlay);
-                        numEncounters = 0;
-
-
-                        boolean charactersUnconscious = false;
-                        while (numEncounters < adventureToPlay.getEncounters().size()) {
-                            int XPGained = businessLayer.getTotalXP(adventureToPlay.getEncounters().get(numEncounters));
-                            boolean monstersDefeated = false;
-                            ui.showEncounterDescription(numEncounters + 1,
-                                    adventureToPlay.getEncounters().get(numEncounters));
-                            adventureParty = businessLayer.preparationStage(adventureParty);
-                            ui.showPreparationStageActions(adventureParty);
-                            businessLayer.setInitiativeValues(adventureParty, adventureToPlay.getEncounters().get(numEncounters));
-                            businessLayer.setCombatOrder(adventureParty, adventureToPlay.getEncounters().get(numEncounters));
-                            ui.showCombatOrder(adventureParty, adventureToPlay.getEncounters().get(numEncounters));
-
-                            int counterRound = 1;
-                            int[] combatOutputs = new int[2];
-
-                            ui.showCombatStageSign();
-                            //number of combatants in the encounter
-                            int totalCombatants = adventureParty.size() +
-                                    adventureToPlay.getEncounters().get(numEncounters).getMonsters().size();
-
-                            //only continue while no side has won yet
-                            while (!charactersUnconscious && !monstersDefeated) {
-                                ui.showRoundAndHP(counterRound, adventureParty);
-
-                                for (int i = 0; i < totalCombatants; i++) {
-                                    //in the middle of a round, check if any side has won
-                                    if (!charactersUnconscious && !monstersDefeated) {
-                                        combatOutputs = businessLayer.combatStageActions(adventureParty,
-                                                adventureToPlay.getEncounters().get(numEncounters), i);
-                                        ui.showCombatAction(combatOutputs[0], combatOutputs[1], adventureParty,
-                                                adventureToPlay.getEncounters().get(numEncounters), i);
-                                        businessLayer.updateCombatants(adventureParty,
-                                                adventureToPlay.getEncounters().get(numEncounters));
-                                    }
-                                    charactersUnconscious = businessLayer.checkTPU(adventureParty);
-                                    monstersDefeated = businessLayer.checkMonstersDefeated(adventureToPlay.getEncounters().get(numEncounters));
-
-                                }
-                                ui.endOfRoundMessage(counterRound);
-                                counterRound++;
-
-                            }
-                            if (charactersUnconscious) {
-                                ui.showDefeatMessage();
-                                break;
-                            } else {
-
-                                ui.showEncounterVictoryMessage();
-                                ui.showShortRestHeader();
-                                for (int i = 0; i < adventureParty.size(); i++) {
-                                    boolean levelUp = businessLayer.experienceGain(adventureParty.get(i), XPGained);
-                                    level = businessLayer.translateExpToLevel(adventureParty.get(i).getXp());
-                                    ui.showExperienceGain(adventureParty.get(i), XPGained, levelUp, level);
-                                    int healing = businessLayer.shortRestActions(adventureParty.get(i), levelUp);
-                                    ui.showShortRestActions(adventureParty.get(i), healing);
-                                    businessLayer.reverseSupportActions(adventureParty.get(i));
-                                }
-
-
-                                numEncounters++;
-
-                            }
-                        }
-                        if (!charactersUnconscious) {
-                            ui.showAdventureVictoryMessage(adventures.get(adventure - 1).getName());
-                            for (Character character : adventureParty) {
-                                boolean okay = businessLayer.updateCharacter(character);
-                            }
+                        AdventureOutcome outcome = businessLayer.playAdventure(adventureParty, adventureToPlay, combatListener);
+                        if (outcome.isVictory()) {
+                            boolean okay = businessLayer.updateCharacters(adventureParty);
                         }
 
                     }
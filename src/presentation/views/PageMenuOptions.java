@@ -0,0 +1,27 @@
+package presentation.views;
+
+/**
+ * Options that can be used when browsing a list split into pages, including:
+ *
+ * {@link #CHOOSE}
+ * {@link #PREVIOUS_PAGE}
+ * {@link #NEXT_PAGE}
+ *
+ * @author Sebastián Félix Gorga & Valèria Ezquerra Rodriguez
+ * @version 1.0
+ */
+public enum PageMenuOptions {
+
+    /**
+     * Option that lets the user choose an item of the current page
+     */
+    CHOOSE,
+    /**
+     * Option that lets the user go back to the previous page
+     */
+    PREVIOUS_PAGE,
+    /**
+     * Option that lets the user go to the next page
+     */
+    NEXT_PAGE
+}
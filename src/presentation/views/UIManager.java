@@ -1,9 +1,9 @@
 package presentation.views;
 
-import business.entities.Adventure;
+import business.entities.AdventureHeader;
 import business.entities.Character;
 import business.entities.Encounter;
-import business.entities.Monster;
+import business.entities.MonsterTemplate;
 
 import java.util.ArrayList;
 
@@ -106,6 +106,22 @@ public interface UIManager {
      */
     void showCharacterList(String[] names);
 
+    /**
+     * Method that shows the user a page of the character's that are owned by the requested player.
+     * @param names array of strings that represent the names of the characters in the page
+     * @param page number of the page, starting at 0
+     * @return NONE
+     */
+    void showCharacterPage(String[] names, int page);
+
+    /**
+     * Method that asks the user whether they want to move to another page or choose an item of the current one.
+     * @param hasPrevious whether there is a previous page
+     * @param hasNext whether there is a next page
+     * @return an item in the {@link PageMenuOptions} enumeration representing the option chosen by the user
+     */
+    PageMenuOptions requestPageOption(boolean hasPrevious, boolean hasNext);
+
     /**
      * Method that prompts the user to enter an int representing one of the characters in a list.
      *
@@ -196,7 +212,7 @@ public interface UIManager {
      *
      * @return NONE.
      */
-    void showMonstersList(ArrayList<Monster> monsters);
+    void showMonstersList(ArrayList<MonsterTemplate> monsters);
 
     /**
      * Method that shows the user a message showing they have included more than one boss monster
@@ -243,9 +259,10 @@ public interface UIManager {
     /**
      * Method that shows the user a list of all the adventures
      *
+     * @param adventures the headers of the adventures
      * @return NONE.
      */
-    void showAdventuresList(ArrayList<Adventure> adventures);
+    void showAdventuresList(ArrayList<AdventureHeader> adventures);
 
     /**
      * Method that requests the user to enter the number of characters to play the adventure.
@@ -1,15 +1,19 @@
 package presentation.views.console;
 
-import business.entities.Adventure;
+import business.RandomSource;
+import business.entities.AdventureHeader;
 import business.entities.Character;
+import business.entities.Dice;
 import business.entities.Encounter;
-import business.entities.Monster;
+import business.entities.MonsterTemplate;
 import presentation.views.EncounterMenuOptions;
 import presentation.views.MainMenuOptions;
+import presentation.views.PageMenuOptions;
 import presentation.views.UIManager;
 
 import java.util.ArrayList;
 import java.util.Scanner;
+import java.util.random.RandomGenerator;
 
 /**
  * Implementation of the {@link ConsoleUIManager} interface that provides interaction with the user.
@@ -23,12 +27,25 @@ public class ConsoleUIManager implements UIManager {
 
     // Scanner to interact with the user in the Console
     private final Scanner scanner;
+    // Generator of the random numbers of the dice rolled for the character's stats
+    private final RandomGenerator random;
 
     /**
      * Default constructor (without parameters) that initializes the manager
      */
     public ConsoleUIManager() {
+        this(RandomSource.newGenerator());
+    }
+
+    /**
+     * Parametrized constructor that initializes the manager, rolling the dice for the character's stats with the given
+     * generator
+     *
+     * @param random the generator of the dice rolled for the character's stats
+     */
+    public ConsoleUIManager(RandomGenerator random) {
         scanner = new Scanner(System.in);
+        this.random = random;
     }
 
     // Constants used in the next method
@@ -198,8 +215,9 @@ public class ConsoleUIManager implements UIManager {
         }while(true);
     }
 
-    // Constant used in the next method
+    // Constants used in the next method
     private static final String PRINT_STATS = "\nGenerating your stats...\n";
+    private static final Dice STAT_DIE = Dice.parse("d6");
 
     /**
      * Method that generates the character's stats and shows them to the user.
@@ -216,8 +234,7 @@ public class ConsoleUIManager implements UIManager {
 
         for (int i = 0; i < stats.length; i++) {
 
-            results[0] = (int) (Math.random() * 6 + 1);
-            results[1] = (int) (Math.random() * 6 + 1);
+            STAT_DIE.roll(random, results);
 
             int sum = results[0] + results[1];
 
@@ -329,6 +346,66 @@ public class ConsoleUIManager implements UIManager {
 
     }
 
+    // Constant used in the next method
+    private static final String PAGE_MESSAGE = "Page ";
+
+    /**
+     * Method that shows the user a page of a list of characters.
+     *
+     * @param characterNames an array of strings representing the names of the characters in the page.
+     * @param page an int representation of the number of the page, starting at 0.
+     * @return NONE.
+     */
+    @Override
+    public void showCharacterPage(String[] characterNames, int page){
+        if (characterNames.length > 0 || page > 0) {
+            System.out.println(PAGE_MESSAGE + (page + 1) + ":");
+        }
+        showCharacterList(characterNames);
+    }
+
+    // Constants used in the next method
+    private static final String PREVIOUS_PAGE_OPTION = "P. Previous page";
+    private static final String NEXT_PAGE_OPTION = "N. Next page";
+    private static final String CHOOSE_OPTION = "C. Choose a character";
+
+    /**
+     * Method that asks the user whether they want to move to another page or choose a character of the current one.
+     * If there is only one page, nothing is asked.
+     *
+     * @param hasPrevious a boolean that indicates whether there is a previous page.
+     * @param hasNext a boolean that indicates whether there is a next page.
+     * @return an item in the {@link PageMenuOptions} enumeration representing the option chosen by the user
+     */
+    @Override
+    public PageMenuOptions requestPageOption(boolean hasPrevious, boolean hasNext){
+        if (!hasPrevious && !hasNext) {
+            return PageMenuOptions.CHOOSE;
+        }
+
+        do {
+            System.out.println();
+            if (hasPrevious) {
+                System.out.println(PREVIOUS_PAGE_OPTION);
+            }
+            if (hasNext) {
+                System.out.println(NEXT_PAGE_OPTION);
+            }
+            System.out.println(CHOOSE_OPTION);
+            System.out.print(ENTER_OPTION);
+
+            String option = scanner.nextLine().trim().toUpperCase();
+            if (option.equals("P") && hasPrevious) {
+                return PageMenuOptions.PREVIOUS_PAGE;
+            } else if (option.equals("N") && hasNext) {
+                return PageMenuOptions.NEXT_PAGE;
+            } else if (option.equals("C")) {
+                return PageMenuOptions.CHOOSE;
+            }
+            System.out.println(ERROR_WRONG_OPTION);
+        } while (true);
+    }
+
     @Override
     /**
      * Method that prompts the user to enter an int representing one of the characters in a list.
@@ -520,7 +597,7 @@ public class ConsoleUIManager implements UIManager {
      *
      * @return NONE.
      */
-    public void showMonstersList(ArrayList<Monster> monsters){
+    public void showMonstersList(ArrayList<MonsterTemplate> monsters){
 
         int i = 0;
 
@@ -605,9 +682,10 @@ public class ConsoleUIManager implements UIManager {
     /**
      * Method that shows the user a list of all the adventures
      *
+     * @param adventures the headers of the adventures
      * @return NONE.
      */
-    public void showAdventuresList(ArrayList<Adventure> adventures){
+    public void showAdventuresList(ArrayList<AdventureHeader> adventures){
 
         int i = 0;
         System.out.println("Available adventures:");